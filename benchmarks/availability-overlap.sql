@@ -0,0 +1,54 @@
+-- Before/after benchmark for the availability overlap predicate.
+--
+-- Seeds a synthetic owner with 150,000 one-hour slots (one every two hours, every third one BUSY) inside a
+-- transaction that is rolled back, then runs the same window query with the old B-tree predicate
+--   end_date_time > :from AND start_date_time < :to
+-- and with the range predicate used by AvailabilitySpecification.overlapping
+--   tstzrange(start_date_time, end_date_time) && tstzrange(:from, :to)
+-- for a window at the beginning and at the end of the owner's history.
+--
+-- Usage: psql -d doodle_db -f benchmarks/availability-overlap.sql
+
+BEGIN;
+
+INSERT INTO users (id, first_name, last_name, email)
+VALUES (-1, 'Benchmark', 'Owner', 'benchmark-owner@example.com');
+
+INSERT INTO availabilities (id, owner_id, start_date_time, end_date_time, availability_status)
+SELECT -slot,
+       -1,
+       timestamptz '2000-01-01 00:00:00+00' + slot * interval '2 hours',
+       timestamptz '2000-01-01 01:00:00+00' + slot * interval '2 hours',
+       CASE WHEN slot % 3 = 0 THEN 'BUSY' ELSE 'FREE' END::availability_status
+FROM generate_series(1, 150000) AS slot;
+
+ANALYZE availabilities;
+
+-- Window at the beginning of the history.
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_date_time, end_date_time
+FROM availabilities
+WHERE owner_id = -1::bigint AND availability_status = 'FREE'
+  AND end_date_time > timestamptz '2000-01-03 00:00:00+00' AND start_date_time < timestamptz '2000-01-10 00:00:00+00';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_date_time, end_date_time
+FROM availabilities
+WHERE owner_id = -1::bigint AND availability_status = 'FREE'
+  AND tstzrange(start_date_time, end_date_time) && tstzrange(timestamptz '2000-01-03 00:00:00+00', timestamptz '2000-01-10 00:00:00+00');
+
+-- Window at the end of the history: the B-tree can only bound start_date_time from above,
+-- so it walks almost every row of the owner.
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_date_time, end_date_time
+FROM availabilities
+WHERE owner_id = -1::bigint AND availability_status = 'FREE'
+  AND end_date_time > timestamptz '2034-03-01 00:00:00+00' AND start_date_time < timestamptz '2034-03-08 00:00:00+00';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_date_time, end_date_time
+FROM availabilities
+WHERE owner_id = -1::bigint AND availability_status = 'FREE'
+  AND tstzrange(start_date_time, end_date_time) && tstzrange(timestamptz '2034-03-01 00:00:00+00', timestamptz '2034-03-08 00:00:00+00');
+
+ROLLBACK;
@@ -0,0 +1,132 @@
+package com.codingchallenge.minidoodlev1.benchmark;
+
+import com.codingchallenge.minidoodlev1.MiniDoodleV1Application;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import com.codingchallenge.minidoodlev1.specification.AvailabilitySpecification;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability specifications and overlap queries against a local PostgreSQL database, which the
+ * {@code tstzrange} predicates require. The application context is started without the web layer and a
+ * synthetic owner with {@code slots} hourly availabilities is seeded for the run and removed afterwards.
+ *
+ * <p>The database defaults to the one of {@code docker-compose.yml} and can be changed with the
+ * {@code benchmark.datasource.url}, {@code benchmark.datasource.username} and
+ * {@code benchmark.datasource.password} system properties.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityQueryBenchmark {
+
+    private static final Instant SEED_START = Instant.parse("2040-01-01T00:00:00Z");
+    private static final Sort PAGE_SORT = Sort.by("startDateTime", "id");
+
+    @Param({"10000"})
+    private int slots;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilityRepository availabilityRepository;
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private Long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MiniDoodleV1Application.class)
+                .web(WebApplicationType.NONE)
+                // Passed as arguments, since defaults would not override the placeholders of application.properties.
+                .run("--spring.datasource.url=" + System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/doodle_db"),
+                        "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "minidoodlev1"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "minidoodlev1"),
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--logging.level.root=WARN");
+        availabilityRepository = context.getBean(AvailabilityRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        ownerId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (first_name, last_name, email) VALUES ('Bench', 'Mark', ?) RETURNING id",
+                Long.class, "jmh-" + System.nanoTime() + "@example.com");
+        jdbcTemplate.update("""
+                INSERT INTO availabilities (owner_id, start_date_time, end_date_time, availability_status, version, created_at, updated_at)
+                SELECT ?, ?::timestamptz + make_interval(hours => g), ?::timestamptz + make_interval(hours => g, mins => 45),
+                       CASE WHEN g % 4 = 0 THEN 'BUSY' ELSE 'FREE' END::availability_status, 0, now(), now()
+                FROM generate_series(0, ? - 1) g
+                """, ownerId, SEED_START.toString(), SEED_START.toString(), slots);
+        jdbcTemplate.execute("ANALYZE availabilities");
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM availabilities WHERE owner_id = ?", ownerId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", ownerId);
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate buildSpecificationPredicate() {
+        Instant start = randomSlotStart();
+        CriteriaBuilder cb = entityManagerFactory.getCriteriaBuilder();
+        CriteriaQuery<Availability> query = cb.createQuery(Availability.class);
+        Root<Availability> root = query.from(Availability.class);
+        return pageSpecification(start, start.plus(Duration.ofDays(7))).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public boolean existsOverlapping() {
+        Instant start = randomSlotStart().plus(Duration.ofMinutes(30));
+        return availabilityRepository.existsOverlapping(ownerId, start, start.plus(Duration.ofMinutes(30)));
+    }
+
+    @Benchmark
+    public List<Availability> queryWeekPage() {
+        Instant start = randomSlotStart();
+        return availabilityRepository.findBy(pageSpecification(start, start.plus(Duration.ofDays(7))),
+                query -> query.sortBy(PAGE_SORT).limit(101).all());
+    }
+
+    private Specification<Availability> pageSpecification(Instant startDateTime, Instant endDateTime) {
+        return Specification.where(AvailabilitySpecification.ownerId(ownerId))
+                .and(AvailabilitySpecification.availabilityStatus(AvailabilityStatus.FREE))
+                .and(AvailabilitySpecification.overlapping(startDateTime, endDateTime));
+    }
+
+    private Instant randomSlotStart() {
+        return SEED_START.plus(Duration.ofHours(ThreadLocalRandom.current().nextInt(slots)));
+    }
+}
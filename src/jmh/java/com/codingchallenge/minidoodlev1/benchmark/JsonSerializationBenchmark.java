@@ -0,0 +1,69 @@
+package com.codingchallenge.minidoodlev1.benchmark;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPageResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of availability pages as returned by the query endpoint, and of the same items
+ * written one per line as done by the NDJSON export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int items;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private AvailabilityPageResponse page;
+
+    @Setup
+    public void setUp() {
+        Instant start = Instant.parse("2030-01-07T09:00:00Z");
+        List<AvailabilityResponse> availabilities = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Instant slotStart = start.plusSeconds(3600L * i);
+            availabilities.add(new AvailabilityResponse((long) i + 1, slotStart, slotStart.plusSeconds(1800),
+                    i % 3 == 0 ? AvailabilityStatus.BUSY : AvailabilityStatus.FREE, i % 5 == 0 ? 7L : null));
+        }
+        page = new AvailabilityPageResponse(availabilities, "MTg5MzkzODQwMDowOjEwMDA");
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public int serializeNdjson() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(items * 128);
+        for (AvailabilityResponse availability : page.items()) {
+            outputStream.writeBytes(jsonMapper.writeValueAsBytes(availability));
+            outputStream.write('\n');
+        }
+        return outputStream.size();
+    }
+}
@@ -0,0 +1,96 @@
+package com.codingchallenge.minidoodlev1.benchmark;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingResponse;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.entity.Meeting;
+import com.codingchallenge.minidoodlev1.data.entity.User;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityResponseMapper;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityResponseMapperImpl;
+import com.codingchallenge.minidoodlev1.mapper.MeetingResponseMapper;
+import com.codingchallenge.minidoodlev1.mapper.MeetingResponseMapperImpl;
+import com.codingchallenge.minidoodlev1.mapper.UserResponseMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mappers from entities to response DTOs. The generated mappers are wired through a minimal
+ * Spring context, as in the application, so mappers using other mappers are measured with their delegation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "2000"})
+    private int participants;
+
+    private AnnotationConfigApplicationContext context;
+    private AvailabilityResponseMapper availabilityResponseMapper;
+    private MeetingResponseMapper meetingResponseMapper;
+    private Availability availability;
+    private Meeting meeting;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(AvailabilityResponseMapperImpl.class, UserResponseMapperImpl.class,
+                MeetingResponseMapperImpl.class);
+        availabilityResponseMapper = context.getBean(AvailabilityResponseMapper.class);
+        meetingResponseMapper = context.getBean(MeetingResponseMapper.class);
+
+        Instant start = Instant.parse("2030-01-07T09:00:00Z");
+        availability = Availability.builder()
+                .id(1L)
+                .ownerId(1L)
+                .startDateTime(start)
+                .endDateTime(start.plusSeconds(3600))
+                .availabilityStatus(AvailabilityStatus.FREE)
+                .build();
+        Set<User> users = new LinkedHashSet<>();
+        for (long id = 1; id <= participants; id++) {
+            users.add(User.builder().id(id).firstName("First" + id).lastName("Last" + id).email("user" + id + "@example.com").build());
+        }
+        meeting = Meeting.builder()
+                .id(1L)
+                .title("All hands")
+                .description("Quarterly all hands")
+                .organizer(users.iterator().next())
+                .participants(users)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AvailabilityResponse mapAvailability() {
+        return availabilityResponseMapper.toResponse(availability);
+    }
+
+    @Benchmark
+    public MeetingResponse mapMeeting() {
+        return meetingResponseMapper.toResponse(meeting);
+    }
+}
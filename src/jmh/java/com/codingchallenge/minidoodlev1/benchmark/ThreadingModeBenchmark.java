@@ -0,0 +1,144 @@
+package com.codingchallenge.minidoodlev1.benchmark;
+
+import com.codingchallenge.minidoodlev1.MiniDoodleV1Application;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request handling on Tomcat's platform-thread pool with handling on virtual threads. Each invocation
+ * sends {@code concurrency} requests at once, four availability queries for every availability creation, and
+ * waits for all of them; with more concurrent requests than pool threads, the platform mode queues them in Tomcat
+ * while the virtual mode queues them on the database bulkhead.
+ *
+ * <p>The application is started on a random port against the database of {@code docker-compose.yml}, which can be
+ * changed with the {@code benchmark.datasource.url}, {@code benchmark.datasource.username} and
+ * {@code benchmark.datasource.password} system properties. The bulkhead wait is raised so that the benchmark
+ * measures throughput rather than rejections.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final Instant SEED_START = Instant.parse("2040-01-01T00:00:00Z");
+    private static final int SEEDED_SLOTS = 2000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"200", "1000"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private URI baseUrl;
+    private Long ownerId;
+    private long nextSlot = SEEDED_SLOTS;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MiniDoodleV1Application.class)
+                .run("--spring.datasource.url=" + System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/doodle_db"),
+                        "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "minidoodlev1"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "minidoodlev1"),
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "--database-bulkhead.max-wait=1m",
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        baseUrl = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+
+        ownerId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (first_name, last_name, email) VALUES ('Bench', 'Mark', ?) RETURNING id",
+                Long.class, "jmh-" + System.nanoTime() + "@example.com");
+        jdbcTemplate.update("""
+                INSERT INTO availabilities (owner_id, start_date_time, end_date_time, availability_status, version, created_at, updated_at)
+                SELECT ?, ?::timestamptz + make_interval(hours => g), ?::timestamptz + make_interval(hours => g, mins => 45),
+                       'FREE'::availability_status, 0, now(), now()
+                FROM generate_series(0, ? - 1) g
+                """, ownerId, SEED_START.toString(), SEED_START.toString(), SEEDED_SLOTS);
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientExecutor.close();
+        jdbcTemplate.update("DELETE FROM availabilities WHERE owner_id = ?", ownerId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", ownerId);
+        context.close();
+    }
+
+    @Benchmark
+    public int concurrentRequests() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(httpClient.sendAsync(i % 5 == 0 ? createRequest() : queryRequest(), HttpResponse.BodyHandlers.discarding()));
+        }
+        int succeeded = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    private HttpRequest queryRequest() {
+        Instant start = SEED_START.plus(Duration.ofHours(ThreadLocalRandom.current().nextInt(SEEDED_SLOTS)));
+        return HttpRequest.newBuilder(baseUrl.resolve("/api/v1/availabilities?limit=50&startDateTime=" + start
+                        + "&endDateTime=" + start.plus(Duration.ofDays(7))))
+                .header("userId", String.valueOf(ownerId))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest createRequest() {
+        Instant start = SEED_START.plus(Duration.ofHours(nextSlot++));
+        return HttpRequest.newBuilder(baseUrl.resolve("/api/v1/availabilities"))
+                .header("userId", String.valueOf(ownerId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"startDateTime\":\"" + start + "\",\"endDateTime\":\""
+                        + start.plus(Duration.ofMinutes(45)) + "\"}"))
+                .build();
+    }
+}
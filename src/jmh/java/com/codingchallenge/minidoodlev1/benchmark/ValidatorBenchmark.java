@@ -0,0 +1,72 @@
+package com.codingchallenge.minidoodlev1.benchmark;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.validator.AvailabilityPeriodValidator;
+import com.codingchallenge.minidoodlev1.validator.PresentOrFutureDateTimeValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The custom constraint validators on their own and as part of a full Bean Validation pass over an
+ * {@link AvailabilityCreationRequest}, which is what every creation request pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private final AvailabilityPeriodValidator availabilityPeriodValidator = new AvailabilityPeriodValidator();
+    private final PresentOrFutureDateTimeValidator presentOrFutureDateTimeValidator = new PresentOrFutureDateTimeValidator();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private AvailabilityCreationRequest availabilityCreationRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        Instant start = Instant.now().plus(30, ChronoUnit.DAYS);
+        availabilityCreationRequest = new AvailabilityCreationRequest(start, start.plus(1, ChronoUnit.HOURS));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean availabilityPeriod() {
+        return availabilityPeriodValidator.isValid(availabilityCreationRequest, null);
+    }
+
+    @Benchmark
+    public boolean presentOrFutureDateTime() {
+        return presentOrFutureDateTimeValidator.isValid(availabilityCreationRequest.startDateTime(), null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AvailabilityCreationRequest>> validateCreationRequest() {
+        return validator.validate(availabilityCreationRequest);
+    }
+}
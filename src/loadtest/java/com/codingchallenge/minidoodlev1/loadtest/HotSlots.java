@@ -0,0 +1,50 @@
+package com.codingchallenge.minidoodlev1.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The few slots that many organizers try to book at once. Once a hot slot has been booked it is replaced by
+ * the next one from the reserve, so the contention lasts for the whole run instead of ending with the
+ * first winners.
+ */
+public class HotSlots {
+
+    private final AtomicLongArray liveSlots;
+    private final List<Long> reserve;
+    private final AtomicInteger nextReserved;
+
+    public HotSlots(int size, List<Long> availabilityIds) {
+        if (availabilityIds.size() < size) {
+            throw new IllegalArgumentException("Not enough availabilities for " + size + " hot slots");
+        }
+        liveSlots = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            liveSlots.set(i, availabilityIds.get(i));
+        }
+        reserve = List.copyOf(availabilityIds);
+        nextReserved = new AtomicInteger(size);
+    }
+
+    public long pick() {
+        return liveSlots.get(ThreadLocalRandom.current().nextInt(liveSlots.length()));
+    }
+
+    /**
+     * Replaces the booked slot with a fresh one. Only the first request reporting the slot as booked moves it;
+     * once the reserve runs out the booked slot stays and keeps being rejected.
+     */
+    public void booked(long availabilityId) {
+        for (int i = 0; i < liveSlots.length(); i++) {
+            if (liveSlots.get(i) == availabilityId) {
+                int next = nextReserved.getAndIncrement();
+                if (next < reserve.size()) {
+                    liveSlots.compareAndSet(i, availabilityId, reserve.get(next));
+                }
+                return;
+            }
+        }
+    }
+}
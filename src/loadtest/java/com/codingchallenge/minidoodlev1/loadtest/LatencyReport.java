@@ -0,0 +1,87 @@
+package com.codingchallenge.minidoodlev1.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and response status counts per endpoint. Latencies are recorded in microseconds from the
+ * time a request was scheduled to be sent, so time spent queued behind a slow application is part of the result.
+ */
+public class LatencyReport {
+
+    /** Status recorded for requests that failed without a response, such as timeouts or refused connections. */
+    public static final int NO_RESPONSE = 0;
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void record(Operation operation, int status, long latencyNanos) {
+        recorders.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        statuses.get(operation).computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * Prints throughput and latency percentiles per endpoint and writes one {@code .hgrm} percentile
+     * distribution per endpoint, in milliseconds, to the report directory.
+     */
+    public void publish(Duration elapsed, Path reportDirectory, PrintStream out) throws IOException {
+        Files.createDirectories(reportDirectory);
+        double seconds = elapsed.toNanos() / 1e9;
+        StringBuilder summary = new StringBuilder(String.format("%-36s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms", "statuses"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            summary.append(String.format("%-36s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    operation.endpoint(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    statusCounts(operation)));
+            try (PrintStream histogramOut = new PrintStream(Files.newOutputStream(reportDirectory.resolve(operation.key() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(histogramOut, MICROS_PER_MILLI);
+            }
+        }
+        Files.writeString(reportDirectory.resolve("summary.txt"), summary);
+        out.print(summary);
+    }
+
+    private Map<String, Long> statusCounts(Operation operation) {
+        Map<String, Long> counts = new TreeMap<>();
+        statuses.get(operation).forEach((status, count) ->
+                counts.put(status == NO_RESPONSE ? "none" : String.valueOf(status), count.sum()));
+        return counts;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
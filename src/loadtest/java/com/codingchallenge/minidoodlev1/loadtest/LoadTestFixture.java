@@ -0,0 +1,171 @@
+package com.codingchallenge.minidoodlev1.loadtest;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchItemResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Users and calendars the load test works on. Users are inserted straight into the database, since the API
+ * has no endpoint for them, while their availabilities are created through the batch endpoint. Everything is
+ * tagged with the run id in the user e-mails so that it can be removed afterwards.
+ */
+public class LoadTestFixture implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int CLEANUP_ATTEMPTS = 5;
+    private static final Duration CLEANUP_RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final LoadTestSettings settings;
+    private final String emailPrefix;
+    private final List<UserCalendar> calendars = new ArrayList<>();
+    private HotSlots hotSlots;
+
+    private LoadTestFixture(LoadTestSettings settings) {
+        this.settings = settings;
+        this.emailPrefix = "loadtest-" + System.currentTimeMillis() + "-";
+    }
+
+    /**
+     * @param hotReserve number of slots kept ready to replace hot slots once they have been booked
+     */
+    public static LoadTestFixture seed(LoadTestSettings settings, HttpClient httpClient, JsonMapper jsonMapper, int hotReserve)
+            throws SQLException, IOException, InterruptedException {
+        LoadTestFixture fixture = new LoadTestFixture(settings);
+        Instant firstSlot = Instant.now().plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS);
+        Map<String, Long> userIds = fixture.insertUsers(settings.users() + 1);
+        for (int i = 0; i < settings.users(); i++) {
+            UserCalendar calendar = new UserCalendar(userIds.get(fixture.email(i)), fixture.email(i), firstSlot);
+            fixture.createAvailabilities(httpClient, jsonMapper, calendar, settings.calendarSize()).forEach(calendar::release);
+            fixture.calendars.add(calendar);
+        }
+        // The hot slots belong to a user of their own, so that no other operation moves or deletes them.
+        UserCalendar hotOwner = new UserCalendar(userIds.get(fixture.email(settings.users())), fixture.email(settings.users()), firstSlot);
+        fixture.hotSlots = new HotSlots(settings.hotSlots(),
+                fixture.createAvailabilities(httpClient, jsonMapper, hotOwner, settings.hotSlots() + hotReserve));
+        return fixture;
+    }
+
+    public List<UserCalendar> calendars() {
+        return calendars;
+    }
+
+    public HotSlots hotSlots() {
+        return hotSlots;
+    }
+
+    /**
+     * Removes the meetings organized by, and the availabilities and users of, this run when cleanup is enabled.
+     * Requests the client already gave up on may still be writing, so a failed attempt is retried a few times.
+     */
+    @Override
+    public void close() throws SQLException, InterruptedException {
+        if (!settings.cleanup()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                deleteRunData();
+                return;
+            } catch (SQLException exception) {
+                if (attempt == CLEANUP_ATTEMPTS) {
+                    throw exception;
+                }
+                Thread.sleep(CLEANUP_RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    private void deleteRunData() throws SQLException {
+        String usersOfRun = "SELECT id FROM users WHERE email LIKE ?";
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            for (String statement : List.of(
+                    "DELETE FROM meetings WHERE organizer_id IN (" + usersOfRun + ")",
+                    "DELETE FROM availabilities WHERE owner_id IN (" + usersOfRun + ")",
+                    "DELETE FROM users WHERE id IN (" + usersOfRun + ")")) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+                    preparedStatement.setString(1, emailPrefix + "%");
+                    preparedStatement.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    private String email(int index) {
+        return emailPrefix + index + "@example.com";
+    }
+
+    private Map<String, Long> insertUsers(int count) throws SQLException {
+        Map<String, Long> userIds = new HashMap<>(count);
+        try (Connection connection = connect();
+             PreparedStatement preparedStatement = connection.prepareStatement("""
+                     INSERT INTO users (first_name, last_name, email)
+                     SELECT 'Load', 'Test', ? || g || '@example.com' FROM generate_series(0, ? - 1) g
+                     RETURNING email, id
+                     """)) {
+            preparedStatement.setString(1, emailPrefix);
+            preparedStatement.setInt(2, count);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    userIds.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+            }
+        }
+        return userIds;
+    }
+
+    private List<Long> createAvailabilities(HttpClient httpClient, JsonMapper jsonMapper, UserCalendar calendar, int count)
+            throws IOException, InterruptedException {
+        List<Long> availabilityIds = new ArrayList<>(count);
+        while (availabilityIds.size() < count) {
+            List<AvailabilityCreationRequest> batch = new ArrayList<>();
+            for (int i = 0; i < Math.min(BATCH_SIZE, count - availabilityIds.size()); i++) {
+                Instant start = calendar.nextSlotStart();
+                batch.add(new AvailabilityCreationRequest(start, start.plus(UserCalendar.SLOT_LENGTH)));
+            }
+            HttpRequest request = HttpRequest.newBuilder(settings.baseUrl().resolve("/api/v1/availabilities/batch"))
+                    .header("Content-Type", "application/json")
+                    .header("userId", String.valueOf(calendar.userId()))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(new AvailabilityBatchCreationRequest(batch))))
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding availabilities failed with status " + response.statusCode());
+            }
+            AvailabilityBatchCreationResponse batchResponse = jsonMapper.readValue(response.body(), AvailabilityBatchCreationResponse.class);
+            if (batchResponse.createdCount() == 0) {
+                throw new IllegalStateException("Seeding availabilities created none of " + batch.size() + " slots");
+            }
+            batchResponse.items().stream()
+                    .map(AvailabilityBatchItemResponse::availability)
+                    .filter(Objects::nonNull)
+                    .forEach(availability -> availabilityIds.add(availability.id()));
+        }
+        return availabilityIds;
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(settings.jdbcUrl(), settings.jdbcUsername(), settings.jdbcPassword());
+    }
+}
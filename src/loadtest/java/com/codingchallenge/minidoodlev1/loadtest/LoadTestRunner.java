@@ -0,0 +1,245 @@
+package com.codingchallenge.minidoodlev1.loadtest;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityUpdateRequest;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingCreationRequest;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Open-loop load generator for the availability and meeting endpoints of a running application.
+ * <p>
+ * Requests are sent at a fixed arrival rate regardless of how long earlier ones take, the way independent users
+ * would send them, and every latency is measured from the moment the request was due. A slow application
+ * therefore shows up as growing latency instead of as a lower request rate that hides the queueing.
+ * <p>
+ * Run with {@code ./mvnw -Pload-test test-compile exec:exec -Dload-test.args="--rate=500 --duration=2m"} against an
+ * application started on the same machine; see {@link LoadTestSettings} for all options.
+ */
+public class LoadTestRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+    private static final String JSON = "application/json";
+
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper;
+    private final LoadTestFixture fixture;
+    private final LatencyReport report = new LatencyReport();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadTestRunner(LoadTestSettings settings, HttpClient httpClient, JsonMapper jsonMapper, LoadTestFixture fixture) {
+        this.settings = settings;
+        this.httpClient = httpClient;
+        this.jsonMapper = jsonMapper;
+        this.fixture = fixture;
+        List<Map.Entry<Operation, Integer>> weights = settings.mix().entrySet().stream()
+                .filter(weight -> weight.getValue() > 0)
+                .toList();
+        operations = new Operation[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            operations[i] = weights.get(i).getKey();
+            total += weights.get(i).getValue();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            System.out.printf("Seeding %d users with %d availabilities each%n", settings.users(), settings.calendarSize());
+            try (LoadTestFixture fixture = LoadTestFixture.seed(settings, httpClient, jsonMapper, expectedHotBookings(settings))) {
+                new LoadTestRunner(settings, httpClient, jsonMapper, fixture).run();
+            }
+        }
+    }
+
+    /**
+     * Upper bound of hot-slot booking attempts in the run, each of which may book a hot slot that then needs replacing.
+     */
+    private static int expectedHotBookings(LoadTestSettings settings) {
+        int totalWeight = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        double bookingShare = settings.mix().getOrDefault(Operation.BOOK, 0) / (double) totalWeight;
+        double seconds = settings.warmup().plus(settings.duration()).toMillis() / 1000.0;
+        return (int) Math.ceil(settings.rate() * seconds * bookingShare * settings.hotSlotRatio());
+    }
+
+    void run() throws Exception {
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        long maxDispatchLag = 0;
+        System.out.printf("Sending %d requests/s for %s of warm-up and %s measured%n", settings.rate(), settings.warmup(), settings.duration());
+
+        for (long sequence = 0; ; sequence++) {
+            long due = start + sequence * interval;
+            if (due >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            maxDispatchLag = Math.max(maxDispatchLag, now - due);
+            dispatch(nextOperation(), due, due >= measureFrom);
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        report.publish(settings.duration(), Path.of(settings.reportDirectory()), System.out);
+        System.out.printf("Max dispatch lag %.2f ms, %d requests still in flight at the end%n",
+                maxDispatchLag / 1e6, inFlight.get());
+    }
+
+    private Operation nextOperation() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable weight " + draw);
+    }
+
+    private void dispatch(Operation operation, long due, boolean measured) {
+        UserCalendar calendar = randomCalendar();
+        switch (operation) {
+            case CREATE -> createAvailability(calendar, due, measured);
+            case QUERY -> send(Operation.QUERY, get("/api/v1/availabilities?availabilityStatus=FREE&limit=50&ownerId=" + calendar.userId(),
+                    calendar), due, measured, response -> {
+            });
+            case UPDATE -> calendar.take().ifPresentOrElse(
+                    availabilityId -> updateAvailability(calendar, availabilityId, due, measured),
+                    () -> createAvailability(calendar, due, measured));
+            case DELETE -> calendar.take().ifPresentOrElse(
+                    availabilityId -> deleteAvailability(calendar, availabilityId, due, measured),
+                    () -> createAvailability(calendar, due, measured));
+            case BOOK -> bookMeeting(calendar, due, measured);
+        }
+    }
+
+    private void createAvailability(UserCalendar calendar, long due, boolean measured) {
+        Instant slotStart = calendar.nextSlotStart();
+        send(Operation.CREATE, post("/api/v1/availabilities", calendar,
+                new AvailabilityCreationRequest(slotStart, slotStart.plus(UserCalendar.SLOT_LENGTH))), due, measured, response -> {
+            if (response.statusCode() == 200) {
+                calendar.release(jsonMapper.readValue(response.body(), AvailabilityResponse.class).id());
+            }
+        });
+    }
+
+    private void updateAvailability(UserCalendar calendar, long availabilityId, long due, boolean measured) {
+        Instant slotStart = calendar.nextSlotStart();
+        HttpRequest request = request("/api/v1/availabilities/" + availabilityId, calendar)
+                .header("Content-Type", JSON)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(
+                        new AvailabilityUpdateRequest(slotStart, slotStart.plus(UserCalendar.SLOT_LENGTH), AvailabilityStatus.FREE))))
+                .build();
+        send(Operation.UPDATE, request, due, measured, response -> calendar.release(availabilityId));
+    }
+
+    private void deleteAvailability(UserCalendar calendar, long availabilityId, long due, boolean measured) {
+        send(Operation.DELETE, request("/api/v1/availabilities/" + availabilityId, calendar).DELETE().build(), due, measured, response -> {
+            if (response.statusCode() >= 300) {
+                calendar.release(availabilityId);
+            }
+        });
+    }
+
+    private void bookMeeting(UserCalendar organizer, long due, boolean measured) {
+        boolean hot = ThreadLocalRandom.current().nextDouble() < settings.hotSlotRatio();
+        Optional<Long> coldSlot = hot ? Optional.empty() : randomCalendar().take();
+        long availabilityId = coldSlot.orElseGet(() -> fixture.hotSlots().pick());
+        MeetingCreationRequest meetingCreationRequest = new MeetingCreationRequest(availabilityId, null, null,
+                "Load test meeting", "Booked by the load test", participantEmails(organizer));
+        send(Operation.BOOK, post("/api/v1/meetings", organizer, meetingCreationRequest), due, measured, response -> {
+            if (coldSlot.isEmpty() && (response.statusCode() == 200 || response.statusCode() == 409)) {
+                fixture.hotSlots().booked(availabilityId);
+            }
+        });
+    }
+
+    private List<String> participantEmails(UserCalendar organizer) {
+        List<String> participantEmails = new ArrayList<>(settings.participants());
+        while (participantEmails.size() < settings.participants()) {
+            String email = randomCalendar().email();
+            if (!email.equals(organizer.email()) && !participantEmails.contains(email)) {
+                participantEmails.add(email);
+            }
+        }
+        return participantEmails;
+    }
+
+    private void send(Operation operation, HttpRequest request, long due, boolean measured, Consumer<HttpResponse<byte[]>> onResponse) {
+        inFlight.incrementAndGet();
+        CompletableFuture<HttpResponse<byte[]>> response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        response.whenComplete((completed, failure) -> {
+            try {
+                if (measured) {
+                    report.record(operation, failure == null ? completed.statusCode() : LatencyReport.NO_RESPONSE, System.nanoTime() - due);
+                }
+                if (failure == null) {
+                    onResponse.accept(completed);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private HttpRequest get(String path, UserCalendar calendar) {
+        return request(path, calendar).GET().build();
+    }
+
+    private HttpRequest post(String path, UserCalendar calendar, Object body) {
+        return request(path, calendar)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, UserCalendar calendar) {
+        return HttpRequest.newBuilder(settings.baseUrl().resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("userId", String.valueOf(calendar.userId()));
+    }
+
+    private UserCalendar randomCalendar() {
+        List<UserCalendar> calendars = fixture.calendars();
+        return calendars.get(ThreadLocalRandom.current().nextInt(calendars.size()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.codingchallenge.minidoodlev1.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of a load-test run, read from {@code --key=value} arguments.
+ *
+ * @param baseUrl         root URL of the running application
+ * @param jdbcUrl         JDBC URL of the application database, used to create and remove the load-test users
+ * @param jdbcUsername    database user
+ * @param jdbcPassword    database password
+ * @param users           number of simulated users
+ * @param calendarSize    number of free availabilities seeded for every user before the run
+ * @param hotSlots        number of slots that booking requests compete for at any time
+ * @param hotSlotRatio    share of meeting bookings that target one of the hot slots, between 0 and 1
+ * @param participants    number of participants invited to every meeting besides the organizer
+ * @param rate            request arrival rate per second, independent of how fast the application responds
+ * @param warmup          time to run before measurements are recorded
+ * @param duration        measured run time
+ * @param mix             relative weight of every operation
+ * @param reportDirectory directory the HDR histograms are written to
+ * @param cleanup         whether the seeded users and everything they own are removed at the end
+ */
+public record LoadTestSettings(
+        URI baseUrl,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        int users,
+        int calendarSize,
+        int hotSlots,
+        double hotSlotRatio,
+        int participants,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        String reportDirectory,
+        boolean cleanup) {
+
+    private static final String DEFAULT_MIX = "create=15,query=50,update=10,delete=5,book=20";
+    private static final Set<String> KNOWN_OPTIONS = Set.of("base-url", "jdbc-url", "jdbc-username", "jdbc-password", "users",
+            "calendar-size", "hot-slots", "hot-slot-ratio", "participants", "rate", "warmup", "duration", "mix", "report-dir",
+            "cleanup");
+
+    public static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        options.keySet().stream()
+                .filter(key -> !KNOWN_OPTIONS.contains(key))
+                .findFirst()
+                .ifPresent(key -> {
+                    throw new IllegalArgumentException("Unknown option: --" + key);
+                });
+
+        LoadTestSettings settings = new LoadTestSettings(
+                URI.create(options.getOrDefault("base-url", "http://localhost:8080")),
+                options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/doodle_db"),
+                options.getOrDefault("jdbc-username", "minidoodlev1"),
+                options.getOrDefault("jdbc-password", "minidoodlev1"),
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("calendar-size", "100")),
+                Integer.parseInt(options.getOrDefault("hot-slots", "5")),
+                Double.parseDouble(options.getOrDefault("hot-slot-ratio", "0.3")),
+                Integer.parseInt(options.getOrDefault("participants", "3")),
+                Integer.parseInt(options.getOrDefault("rate", "200")),
+                Duration.parse("PT" + options.getOrDefault("warmup", "10s")),
+                Duration.parse("PT" + options.getOrDefault("duration", "60s")),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                options.getOrDefault("report-dir", "target/loadtest"),
+                Boolean.parseBoolean(options.getOrDefault("cleanup", "true")));
+        settings.validate();
+        return settings;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.split("=");
+            weights.put(Operation.fromKey(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private void validate() {
+        if (users < participants + 1) {
+            throw new IllegalArgumentException("users must be greater than participants");
+        }
+        if (calendarSize < 1 || hotSlots < 1 || rate < 1) {
+            throw new IllegalArgumentException("calendar-size, hot-slots and rate must be positive");
+        }
+        if (hotSlotRatio < 0 || hotSlotRatio > 1) {
+            throw new IllegalArgumentException("hot-slot-ratio must be between 0 and 1");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix must give at least one operation a positive weight");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.codingchallenge.minidoodlev1.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Requests issued by the load test, each reported as its own endpoint.
+ */
+public enum Operation {
+
+    CREATE("create", "POST /api/v1/availabilities"),
+    QUERY("query", "GET /api/v1/availabilities"),
+    UPDATE("update", "PUT /api/v1/availabilities/{id}"),
+    DELETE("delete", "DELETE /api/v1/availabilities/{id}"),
+    BOOK("book", "POST /api/v1/meetings");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + key));
+    }
+}
@@ -0,0 +1,64 @@
+package com.codingchallenge.minidoodlev1.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Free availabilities of one simulated user. Slots are handed out one hour apart so that newly created
+ * and moved availabilities never overlap the ones already stored.
+ */
+public class UserCalendar {
+
+    static final Duration SLOT_LENGTH = Duration.ofMinutes(45);
+    private static final Duration SLOT_SPACING = Duration.ofHours(1);
+
+    private final long userId;
+    private final String email;
+    private final Instant firstSlot;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final List<Long> freeAvailabilityIds = new ArrayList<>();
+
+    public UserCalendar(long userId, String email, Instant firstSlot) {
+        this.userId = userId;
+        this.email = email;
+        this.firstSlot = firstSlot;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public String email() {
+        return email;
+    }
+
+    /**
+     * @return start of a slot that no availability of this user has used yet
+     */
+    public Instant nextSlotStart() {
+        return firstSlot.plus(SLOT_SPACING.multipliedBy(nextSlot.getAndIncrement()));
+    }
+
+    public synchronized void release(long availabilityId) {
+        freeAvailabilityIds.add(availabilityId);
+    }
+
+    /**
+     * Removes a random free availability, so that no other request works on it until it is released again.
+     */
+    public synchronized Optional<Long> take() {
+        if (freeAvailabilityIds.isEmpty()) {
+            return Optional.empty();
+        }
+        int index = ThreadLocalRandom.current().nextInt(freeAvailabilityIds.size());
+        Long availabilityId = freeAvailabilityIds.get(index);
+        freeAvailabilityIds.set(index, freeAvailabilityIds.getLast());
+        freeAvailabilityIds.removeLast();
+        return Optional.of(availabilityId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.codingchallenge.minidoodlev1.annotation;
+
+import com.codingchallenge.minidoodlev1.concurrency.DatabaseBulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated bean method, including its transaction, under a permit of the {@link DatabaseBulkhead}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DatabaseBulkheaded {
+
+    DatabaseBulkhead.Access value();
+}
@@ -16,7 +16,7 @@ import java.lang.annotation.Target;
 @Documented
 public @interface ValidAvailabilityPeriod {
 
-    String message() default "EndDateTime must be after startDateTime.";
+    String message() default "EndDateTime must be after startDateTime and at most 31 days later.";
 
     Class<?>[] groups() default {};
 
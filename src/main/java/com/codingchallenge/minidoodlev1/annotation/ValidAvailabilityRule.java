@@ -0,0 +1,24 @@
+package com.codingchallenge.minidoodlev1.annotation;
+
+import com.codingchallenge.minidoodlev1.validator.AvailabilityRuleValidator;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = AvailabilityRuleValidator.class)
+@Documented
+public @interface ValidAvailabilityRule {
+
+    String message() default "EndTime must be after startTime, untilDate must not be before startDate and timeZone must be a valid zone id.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
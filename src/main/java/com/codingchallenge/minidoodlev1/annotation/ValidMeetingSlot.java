@@ -0,0 +1,24 @@
+package com.codingchallenge.minidoodlev1.annotation;
+
+import com.codingchallenge.minidoodlev1.validator.MeetingSlotValidator;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = MeetingSlotValidator.class)
+@Documented
+public @interface ValidMeetingSlot {
+
+    String message() default "Either availabilityId or both ruleId and occurrenceStartDateTime must be provided.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -1,8 +1,15 @@
 package com.codingchallenge.minidoodlev1.api;
 
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityHeatmapResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPageResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityUpdateRequest;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotResponse;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotSearchRequest;
+import com.codingchallenge.minidoodlev1.data.dto.FreeBusyResponse;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
 import com.codingchallenge.minidoodlev1.service.AvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +20,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,7 +32,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
@@ -35,6 +49,7 @@ import java.util.Objects;
 public class AvailabilityController {
 
     private final AvailabilityService availabilityService;
+    private final JsonMapper jsonMapper;
 
     @PostMapping
     @Operation(
@@ -54,17 +69,71 @@ public class AvailabilityController {
         return availabilityService.createAvailability(userId, availabilityCreationRequest);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create availabilities in batch",
+            description = "Creates multiple availability records for the given user and reports conflicts per item",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results",
+                            content = @Content(schema = @Schema(implementation = AvailabilityBatchCreationResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content)
+            }
+    )
+    public AvailabilityBatchCreationResponse createAvailabilities(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId, @RequestBody @Valid AvailabilityBatchCreationRequest availabilityBatchCreationRequest) {
+        return availabilityService.createAvailabilities(userId, availabilityBatchCreationRequest);
+    }
+
     @GetMapping
     @Operation(
             summary = "Query availabilities",
-            description = "Search availabilities by optional filters",
+            description = "Search availabilities by optional filters, one page at a time ordered by start date-time. "
+                    + "Responses carry an ETag that changes with every change to the owner's calendar",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Availabilities retrieved successfully",
-                            content = @Content(schema = @Schema(implementation = AvailabilityResponse.class))),
+                            content = @Content(schema = @Schema(implementation = AvailabilityPageResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "The owner's calendar did not change since the ETag in If-None-Match",
+                            content = @Content),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Availability not found", content = @Content)
             }
     )
-    public List<AvailabilityResponse> queryAvailabilities(
+    public AvailabilityPageResponse queryAvailabilities(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "Availability owner ID")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Start date-time filter (ISO-8601)")
+            @RequestParam(required = false) Instant startDateTime,
+            @Parameter(description = "End date-time filter (ISO-8601)")
+            @RequestParam(required = false) Instant endDateTime,
+            @Parameter(description = "Availability status filter")
+            @RequestParam(required = false) AvailabilityStatus availabilityStatus,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of availabilities in the page (1-1000)")
+            @RequestParam(defaultValue = "100") int limit,
+            WebRequest webRequest
+    ) {
+        Long resolvedOwnerId = Objects.isNull(ownerId) ? userId : ownerId;
+        // The version is read before the query, so a response is never tagged with a version newer than its content.
+        if (webRequest.checkNotModified(resolvedOwnerId + "-" + availabilityService.getChangeVersion(resolvedOwnerId))) {
+            return null;
+        }
+        return availabilityService.queryAvailabilities(resolvedOwnerId, startDateTime, endDateTime, availabilityStatus, cursor, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export availabilities",
+            description = "Streams all stored availabilities matching the optional filters as newline-delimited JSON, ordered by start date-time",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Availabilities streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AvailabilityResponse.class)))
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> exportAvailabilities(
             @Parameter(description = "User ID performing the request", required = true)
             @RequestHeader Long userId,
             @Parameter(description = "Availability owner ID")
@@ -76,7 +145,82 @@ public class AvailabilityController {
             @Parameter(description = "Availability status filter")
             @RequestParam(required = false) AvailabilityStatus availabilityStatus
     ) {
-        return availabilityService.queryAvailabilities(Objects.isNull(ownerId) ? userId : ownerId, startDateTime, endDateTime, availabilityStatus);
+        Long resolvedOwnerId = Objects.isNull(ownerId) ? userId : ownerId;
+        StreamingResponseBody body = outputStream -> availabilityService.streamAvailabilities(resolvedOwnerId, startDateTime, endDateTime, availabilityStatus,
+                availabilityResponse -> {
+                    try {
+                        outputStream.write(jsonMapper.writeValueAsBytes(availabilityResponse));
+                        outputStream.write('\n');
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/freebusy")
+    @Operation(
+            summary = "Get free/busy intervals",
+            description = "Returns the owner's free and busy time within the window, with adjacent and overlapping slots merged",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Free/busy intervals computed successfully",
+                            content = @Content(schema = @Schema(implementation = FreeBusyResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid window", content = @Content)
+            }
+    )
+    public FreeBusyResponse getFreeBusy(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "Availability owner ID")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Window start date-time (ISO-8601)", required = true)
+            @RequestParam("start") Instant startDateTime,
+            @Parameter(description = "Window end date-time (ISO-8601)", required = true)
+            @RequestParam("end") Instant endDateTime
+    ) {
+        return availabilityService.getFreeBusy(Objects.isNull(ownerId) ? userId : ownerId, startDateTime, endDateTime);
+    }
+
+    @GetMapping("/heatmap")
+    @Operation(
+            summary = "Get a team availability heatmap",
+            description = "Returns, for each bucket of the window, how many of the owners are free during the whole bucket",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Heatmap computed successfully",
+                            content = @Content(schema = @Schema(implementation = AvailabilityHeatmapResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid window, owners or bucket size", content = @Content)
+            }
+    )
+    public AvailabilityHeatmapResponse getHeatmap(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "IDs of the owners to include", required = true)
+            @RequestParam List<Long> ownerIds,
+            @Parameter(description = "Window start date-time (ISO-8601)", required = true)
+            @RequestParam("start") Instant startDateTime,
+            @Parameter(description = "Window end date-time (ISO-8601)", required = true)
+            @RequestParam("end") Instant endDateTime,
+            @Parameter(description = "Bucket size in minutes")
+            @RequestParam(defaultValue = "15") int bucketMinutes
+    ) {
+        return availabilityService.getHeatmap(ownerIds, startDateTime, endDateTime, bucketMinutes);
+    }
+
+    @PostMapping("/common-slots")
+    @Operation(
+            summary = "Find common free slots",
+            description = "Returns the earliest windows in which all participants, or a quorum of them, are free",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Common slots found successfully",
+                            content = @Content(schema = @Schema(implementation = CommonSlotResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Participant not found", content = @Content)
+            }
+    )
+    public List<CommonSlotResponse> findCommonSlots(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId, @RequestBody @Valid CommonSlotSearchRequest commonSlotSearchRequest) {
+        return availabilityService.findCommonSlots(commonSlotSearchRequest);
     }
 
     @PutMapping("/{availabilityId}")
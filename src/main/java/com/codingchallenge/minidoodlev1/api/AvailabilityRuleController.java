@@ -0,0 +1,82 @@
+package com.codingchallenge.minidoodlev1.api;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleResponse;
+import com.codingchallenge.minidoodlev1.service.AvailabilityRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/availability-rules")
+@Tag(name = "Availability rules", description = "Operations related to recurring user availabilities")
+public class AvailabilityRuleController {
+
+    private final AvailabilityRuleService availabilityRuleService;
+
+    @PostMapping
+    @Operation(
+            summary = "Create a new availability rule",
+            description = "Creates a weekly recurring availability for the given user",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Availability rule created successfully",
+                            content = @Content(schema = @Schema(implementation = AvailabilityRuleResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content),
+                    @ApiResponse(responseCode = "409", description = "Availability rule conflict detected", content = @Content)
+            }
+    )
+    public AvailabilityRuleResponse createAvailabilityRule(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId, @RequestBody @Valid AvailabilityRuleCreationRequest availabilityRuleCreationRequest) {
+        return availabilityRuleService.createAvailabilityRule(userId, availabilityRuleCreationRequest);
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "List availability rules",
+            description = "Returns all recurring availabilities of the given user",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Availability rules retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = AvailabilityRuleResponse.class)))
+            }
+    )
+    public List<AvailabilityRuleResponse> getAvailabilityRules(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId) {
+        return availabilityRuleService.getAvailabilityRules(userId);
+    }
+
+    @DeleteMapping("/{ruleId}")
+    @Operation(
+            summary = "Delete an availability rule",
+            description = "Deletes the specified rule, already booked occurrences are kept",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Deleted successfully", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Availability rule not found", content = @Content),
+            }
+    )
+    public void deleteAvailabilityRule(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "ID of availability rule to delete", required = true)
+            @PathVariable Long ruleId
+    ) {
+        availabilityRuleService.deleteAvailabilityRule(userId, ruleId);
+    }
+}
@@ -1,6 +1,8 @@
 package com.codingchallenge.minidoodlev1.api;
 
 import com.codingchallenge.minidoodlev1.data.dto.MeetingCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingPageResponse;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingParticipantsRequest;
 import com.codingchallenge.minidoodlev1.data.dto.MeetingResponse;
 import com.codingchallenge.minidoodlev1.service.MeetingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,12 +13,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Objects;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/meetings")
@@ -42,4 +50,85 @@ public class MeetingController {
             @RequestBody @Valid MeetingCreationRequest meetingCreationRequest) {
         return meetingService.createMeeting(userId, meetingCreationRequest);
     }
+
+    @GetMapping("/{meetingId}")
+    @Operation(
+            summary = "Get a meeting",
+            description = "Retrieves a meeting with its organizer and participants",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Meeting retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = MeetingResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Meeting not found", content = @Content)
+            }
+    )
+    public MeetingResponse getMeeting(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "Meeting ID", required = true)
+            @PathVariable Long meetingId) {
+        return meetingService.getMeeting(meetingId);
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "Query meetings",
+            description = "Lists the meetings a user takes part in, one page at a time ordered by meeting ID",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Meetings retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = MeetingPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content)
+            }
+    )
+    public MeetingPageResponse queryMeetings(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "Participant ID, defaults to the requesting user")
+            @RequestParam(required = false) Long participantId,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of meetings in the page (1-100)")
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return meetingService.queryMeetings(Objects.isNull(participantId) ? userId : participantId, cursor, limit);
+    }
+
+    @PostMapping("/{meetingId}/participants")
+    @Operation(
+            summary = "Add meeting participants",
+            description = "Adds users to a meeting organized by the user; users already taking part are skipped",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Participants added successfully",
+                            content = @Content(schema = @Schema(implementation = MeetingResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Meeting or users not found", content = @Content)
+            }
+    )
+    public MeetingResponse addParticipants(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "Meeting ID", required = true)
+            @PathVariable Long meetingId,
+            @RequestBody @Valid MeetingParticipantsRequest meetingParticipantsRequest) {
+        return meetingService.addParticipants(userId, meetingId, meetingParticipantsRequest);
+    }
+
+    @DeleteMapping("/{meetingId}/participants")
+    @Operation(
+            summary = "Remove meeting participants",
+            description = "Removes users from a meeting organized by the user; the organizer is never removed",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Participants removed successfully",
+                            content = @Content(schema = @Schema(implementation = MeetingResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Meeting not found", content = @Content)
+            }
+    )
+    public MeetingResponse removeParticipants(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "Meeting ID", required = true)
+            @PathVariable Long meetingId,
+            @RequestBody @Valid MeetingParticipantsRequest meetingParticipantsRequest) {
+        return meetingService.removeParticipants(userId, meetingId, meetingParticipantsRequest);
+    }
 }
@@ -0,0 +1,58 @@
+package com.codingchallenge.minidoodlev1.api;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.service.ReactiveAvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/availabilities")
+@Tag(name = "Availabilities", description = "Operations related to user availabilities")
+@ConditionalOnProperty(prefix = "availability.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveAvailabilityController {
+
+    private final ReactiveAvailabilityService reactiveAvailabilityService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream availabilities",
+            description = "Selected with Accept: application/x-ndjson. Streams the stored availabilities matching the optional filters, "
+                    + "ordered by start date-time, as they are read from the database without holding a request thread",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Availabilities streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AvailabilityResponse.class)))
+            }
+    )
+    public Flux<AvailabilityResponse> streamAvailabilities(
+            @Parameter(description = "User ID performing the request", required = true)
+            @RequestHeader Long userId,
+            @Parameter(description = "Availability owner ID")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Start date-time filter (ISO-8601)")
+            @RequestParam(required = false) Instant startDateTime,
+            @Parameter(description = "End date-time filter (ISO-8601)")
+            @RequestParam(required = false) Instant endDateTime,
+            @Parameter(description = "Availability status filter")
+            @RequestParam(required = false) AvailabilityStatus availabilityStatus
+    ) {
+        return reactiveAvailabilityService.queryAvailabilities(Objects.isNull(ownerId) ? userId : ownerId, startDateTime, endDateTime, availabilityStatus);
+    }
+}
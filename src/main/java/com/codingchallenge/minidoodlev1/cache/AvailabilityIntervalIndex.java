@@ -0,0 +1,215 @@
+package com.codingchallenge.minidoodlev1.cache;
+
+import com.codingchallenge.minidoodlev1.config.AvailabilityIntervalIndexProperties;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityInterval;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "does this owner have a stored availability overlapping {@code [start, end)}" from memory.
+ *
+ * <p>For every cached owner the union of their stored availabilities is kept as two sorted arrays of
+ * epoch microseconds, so a check is a binary search. Owners are loaded on the first miss with one query
+ * and kept in an LRU map bounded by {@link AvailabilityIntervalIndexProperties#maxOwners()}. Writes made
+ * through the services are applied once their transaction commits: inserts extend the cached intervals,
+ * updates and deletes evict the owner. When the index is disabled every check goes to the database.</p>
+ */
+@Component
+public class AvailabilityIntervalIndex {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final boolean enabled;
+    private final Map<Long, OwnerIntervals> owners;
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public AvailabilityIntervalIndex(AvailabilityRepository availabilityRepository, AvailabilityIntervalIndexProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.availabilityRepository = availabilityRepository;
+        this.enabled = properties.enabled();
+        int maxOwners = properties.maxOwners();
+        this.owners = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, OwnerIntervals> eldest) {
+                return size() > maxOwners;
+            }
+        };
+        this.hits = Counter.builder("availability.interval.index.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("availability.interval.index.lookups").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gauge("availability.interval.index.owners", owners, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+
+    /**
+     * Checks whether a stored availability of the owner overlaps {@code [startDateTime, endDateTime)}.
+     */
+    public boolean overlaps(Long ownerId, Instant startDateTime, Instant endDateTime) {
+        if (!enabled) {
+            return availabilityRepository.existsOverlapping(ownerId, startDateTime, endDateTime);
+        }
+        OwnerIntervals intervals;
+        synchronized (owners) {
+            intervals = owners.get(ownerId);
+        }
+        if (intervals != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            intervals = load(ownerId);
+        }
+        return intervals.overlaps(floorMicros(startDateTime), ceilMicros(endDateTime));
+    }
+
+    /**
+     * Adds a newly stored availability to the cached intervals of its owner once the current transaction commits.
+     */
+    public void recordInserted(Long ownerId, Instant startDateTime, Instant endDateTime) {
+        if (enabled) {
+            afterCommit(() -> {
+                writeSequence.incrementAndGet();
+                synchronized (owners) {
+                    OwnerIntervals intervals = owners.get(ownerId);
+                    if (intervals != null) {
+                        owners.put(ownerId, intervals.with(floorMicros(startDateTime), ceilMicros(endDateTime)));
+                    }
+                }
+            }, ownerId);
+        }
+    }
+
+    /**
+     * Drops the cached intervals of the owner, now and again once the current transaction completes.
+     */
+    public void invalidate(Long ownerId) {
+        if (enabled) {
+            evict(ownerId);
+            afterCommit(() -> evict(ownerId), ownerId);
+        }
+    }
+
+    private OwnerIntervals load(Long ownerId) {
+        long sequence = writeSequence.get();
+        OwnerIntervals intervals = OwnerIntervals.of(availabilityRepository.findByOwnerIdOrderByStartDateTimeAsc(ownerId));
+        synchronized (owners) {
+            // A write that committed while loading may be missing from the snapshot, so it is not cached.
+            if (writeSequence.get() == sequence) {
+                owners.put(ownerId, intervals);
+            }
+        }
+        return intervals;
+    }
+
+    private void evict(Long ownerId) {
+        writeSequence.incrementAndGet();
+        synchronized (owners) {
+            owners.remove(ownerId);
+        }
+    }
+
+    private void afterCommit(Runnable action, Long ownerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                } else {
+                    evict(ownerId);
+                }
+            }
+        });
+    }
+
+    private static long floorMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private static long ceilMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + (instant.getNano() + 999) / 1_000;
+    }
+
+    /**
+     * Disjoint intervals of one owner, sorted by start. Instances are immutable and replaced on every change.
+     */
+    private record OwnerIntervals(long[] starts, long[] ends) {
+
+        static OwnerIntervals of(List<AvailabilityInterval> sortedIntervals) {
+            long[] starts = new long[sortedIntervals.size()];
+            long[] ends = new long[sortedIntervals.size()];
+            int size = 0;
+            for (AvailabilityInterval interval : sortedIntervals) {
+                long start = floorMicros(interval.startDateTime());
+                long end = ceilMicros(interval.endDateTime());
+                if (size > 0 && start <= ends[size - 1]) {
+                    ends[size - 1] = Math.max(ends[size - 1], end);
+                } else {
+                    starts[size] = start;
+                    ends[size] = end;
+                    size++;
+                }
+            }
+            return new OwnerIntervals(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+        }
+
+        boolean overlaps(long start, long end) {
+            int candidate = lastStartingBefore(end);
+            return candidate >= 0 && ends[candidate] > start;
+        }
+
+        OwnerIntervals with(long start, long end) {
+            // Merge with every interval that overlaps or touches [start, end).
+            int first = lastStartingBefore(start + 1);
+            if (first < 0 || ends[first] < start) {
+                first++;
+            }
+            int last = lastStartingBefore(end + 1);
+            long mergedStart = first <= last ? Math.min(start, starts[first]) : start;
+            long mergedEnd = first <= last ? Math.max(end, ends[last]) : end;
+            int size = starts.length - (last - first + 1) + 1;
+            long[] newStarts = new long[size];
+            long[] newEnds = new long[size];
+            System.arraycopy(starts, 0, newStarts, 0, first);
+            System.arraycopy(ends, 0, newEnds, 0, first);
+            newStarts[first] = mergedStart;
+            newEnds[first] = mergedEnd;
+            System.arraycopy(starts, last + 1, newStarts, first + 1, starts.length - last - 1);
+            System.arraycopy(ends, last + 1, newEnds, first + 1, ends.length - last - 1);
+            return new OwnerIntervals(newStarts, newEnds);
+        }
+
+        /**
+         * Index of the last interval starting strictly before {@code instant}, or {@code -1}.
+         */
+        private int lastStartingBefore(long instant) {
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < instant) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+    }
+}
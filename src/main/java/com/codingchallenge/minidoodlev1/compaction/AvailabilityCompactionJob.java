@@ -0,0 +1,54 @@
+package com.codingchallenge.minidoodlev1.compaction;
+
+import com.codingchallenge.minidoodlev1.config.AvailabilityCompactionProperties;
+import com.codingchallenge.minidoodlev1.service.AvailabilityCompactionService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically merges back-to-back {@code FREE} availabilities, so that a calendar built from many short slots
+ * is listed and checked for overlaps as a few long ones.
+ *
+ * <p>A run walks the owners with mergeable slots in ID order, {@link AvailabilityCompactionProperties#ownersPerBatch()}
+ * at a time, and compacts each owner in a transaction of its own, so an owner's writes are only held up while that
+ * owner is compacted. The number of availabilities merged by each run is recorded in the {@value #MERGED_ROWS}
+ * distribution summary.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "availability.compaction", name = "enabled", havingValue = "true")
+public class AvailabilityCompactionJob {
+
+    static final String MERGED_ROWS = "availability.compaction.merged.rows";
+
+    private final AvailabilityCompactionService availabilityCompactionService;
+    private final int ownersPerBatch;
+    private final DistributionSummary mergedRows;
+
+    public AvailabilityCompactionJob(AvailabilityCompactionService availabilityCompactionService,
+                                     AvailabilityCompactionProperties properties, MeterRegistry meterRegistry) {
+        this.availabilityCompactionService = availabilityCompactionService;
+        this.ownersPerBatch = properties.ownersPerBatch();
+        this.mergedRows = DistributionSummary.builder(MERGED_ROWS)
+                .description("Availabilities merged into an adjacent one per compaction run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${availability.compaction.interval:10m}")
+    public void compact() {
+        int merged = 0;
+        Long afterOwnerId = 0L;
+        List<Long> ownerIds;
+        while (!(ownerIds = availabilityCompactionService.findCompactableOwners(afterOwnerId, ownersPerBatch)).isEmpty()) {
+            for (Long ownerId : ownerIds) {
+                merged += availabilityCompactionService.compact(ownerId);
+            }
+            afterOwnerId = ownerIds.getLast();
+        }
+        mergedRows.record(merged);
+    }
+}
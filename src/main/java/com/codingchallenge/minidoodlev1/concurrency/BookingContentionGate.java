@@ -0,0 +1,144 @@
+package com.codingchallenge.minidoodlev1.concurrency;
+
+import com.codingchallenge.minidoodlev1.config.BookingContentionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Lets one booking per slot run at a time within this instance.
+ *
+ * <p>The first request for a slot is granted immediately. Requests arriving while it runs wait, in arrival
+ * order, on a waitlist bounded by {@link BookingContentionProperties#maxWaiters()}; requests beyond that bound
+ * are rejected without touching the database. When the running booking takes the slot, every waiting request is
+ * rejected; when it fails for another reason, the slot is handed to the longest waiting request. The database
+ * claim stays authoritative across instances, the gate only keeps doomed requests away from it.</p>
+ */
+@Component
+public class BookingContentionGate {
+
+    public enum Admission {
+        /** The caller may book the slot and must call {@link #release(String, boolean)} afterwards. */
+        GRANTED,
+        /** Another request booked the slot while the caller was waiting. */
+        TAKEN,
+        /** The waitlist is full or the caller waited too long. */
+        CONTENDED
+    }
+
+    private final ConcurrentMap<String, SlotClaim> claims = new ConcurrentHashMap<>();
+    private final int maxWaiters;
+    private final Duration maxWait;
+    private final Counter contended;
+    private final Counter queued;
+    private final Counter rejected;
+
+    public BookingContentionGate(BookingContentionProperties properties, MeterRegistry meterRegistry) {
+        this.maxWaiters = properties.maxWaiters();
+        this.maxWait = properties.maxWait();
+        this.contended = Counter.builder("availability.booking.contention").tag("outcome", "contended").register(meterRegistry);
+        this.queued = Counter.builder("availability.booking.contention").tag("outcome", "queued").register(meterRegistry);
+        this.rejected = Counter.builder("availability.booking.contention").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    /**
+     * Waits until the caller may book the slot identified by {@code slotKey}, or until it is clear that it may not.
+     */
+    public Admission acquire(String slotKey) {
+        while (true) {
+            SlotClaim claim = claims.putIfAbsent(slotKey, new SlotClaim());
+            if (claim == null) {
+                return Admission.GRANTED;
+            }
+            CompletableFuture<Boolean> turn = new CompletableFuture<>();
+            synchronized (claim) {
+                if (claim.closed) {
+                    // Released between putIfAbsent and here; the key is free again.
+                    continue;
+                }
+                contended.increment();
+                if (claim.waiters.size() >= maxWaiters) {
+                    rejected.increment();
+                    return Admission.CONTENDED;
+                }
+                claim.waiters.add(turn);
+                queued.increment();
+            }
+            return await(slotKey, claim, turn);
+        }
+    }
+
+    /**
+     * Ends a booking granted by {@link #acquire(String)}.
+     *
+     * @param slotTaken whether the slot is booked now, by this request or by anyone else.
+     */
+    public void release(String slotKey, boolean slotTaken) {
+        SlotClaim claim = claims.get(slotKey);
+        if (claim == null) {
+            return;
+        }
+        synchronized (claim) {
+            CompletableFuture<Boolean> next = slotTaken ? null : claim.waiters.poll();
+            if (next != null) {
+                next.complete(true);
+                return;
+            }
+            claim.closed = true;
+            claims.remove(slotKey, claim);
+            claim.waiters.forEach(waiter -> waiter.complete(false));
+            claim.waiters.clear();
+        }
+    }
+
+    private Admission await(String slotKey, SlotClaim claim, CompletableFuture<Boolean> turn) {
+        boolean granted;
+        try {
+            granted = turn.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            synchronized (claim) {
+                // The turn may have been handed over right as the wait timed out.
+                granted = !claim.waiters.remove(turn) && turn.getNow(false);
+            }
+            if (!granted) {
+                rejected.increment();
+                return Admission.CONTENDED;
+            }
+        } catch (InterruptedException exception) {
+            boolean handedOver;
+            synchronized (claim) {
+                // As with a timeout, the turn may have been handed over right as the wait was interrupted.
+                handedOver = !claim.waiters.remove(turn) && turn.getNow(false);
+            }
+            if (handedOver) {
+                // The caller never books, so the slot goes on to the next waiter or is freed.
+                release(slotKey, false);
+            }
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return Admission.CONTENDED;
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception);
+        }
+        if (!granted) {
+            rejected.increment();
+            return Admission.TAKEN;
+        }
+        return Admission.GRANTED;
+    }
+
+    private static final class SlotClaim {
+        private final Deque<CompletableFuture<Boolean>> waiters = new ArrayDeque<>();
+        private boolean closed;
+    }
+}
@@ -0,0 +1,83 @@
+package com.codingchallenge.minidoodlev1.concurrency;
+
+import com.codingchallenge.minidoodlev1.config.DatabaseBulkheadProperties;
+import com.codingchallenge.minidoodlev1.exception.DatabaseBusyException;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limits how many requests use the database at once, separately for reads and writes.
+ *
+ * <p>With virtual threads the number of concurrent requests is no longer capped by the servlet thread pool, so
+ * without a limit every request would queue on the connection pool, where waiting requests hold no place in line
+ * and a burst of queries can starve bookings. Permits are handed out in arrival order; a request that does not get
+ * one within {@link DatabaseBulkheadProperties#maxWait()} is rejected with a {@link DatabaseBusyException}. The
+ * time spent waiting is published as the {@code database.bulkhead.wait} timer, tagged with the access kind and
+ * whether a permit was acquired.</p>
+ */
+@Component
+public class DatabaseBulkhead {
+
+    public enum Access {
+        READ,
+        WRITE
+    }
+
+    private final Map<Access, Semaphore> permits = new EnumMap<>(Access.class);
+    private final Map<Access, Timer> acquiredWaits = new EnumMap<>(Access.class);
+    private final Map<Access, Timer> rejectedWaits = new EnumMap<>(Access.class);
+    private final Duration maxWait;
+
+    public DatabaseBulkhead(DatabaseBulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.maxWait = properties.maxWait();
+        permits.put(Access.READ, new Semaphore(properties.readPermits(), true));
+        permits.put(Access.WRITE, new Semaphore(properties.writePermits(), true));
+        for (Access access : Access.values()) {
+            String tag = access.name().toLowerCase();
+            acquiredWaits.put(access, Timer.builder("database.bulkhead.wait").tag("access", tag).tag("outcome", "acquired")
+                    .register(meterRegistry));
+            rejectedWaits.put(access, Timer.builder("database.bulkhead.wait").tag("access", tag).tag("outcome", "rejected")
+                    .register(meterRegistry));
+            Gauge.builder("database.bulkhead.waiting", permits.get(access), Semaphore::getQueueLength)
+                    .tag("access", tag).register(meterRegistry);
+            Gauge.builder("database.bulkhead.available", permits.get(access), Semaphore::availablePermits)
+                    .tag("access", tag).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Runs {@code work} once a permit of the given kind is available and releases the permit afterwards.
+     */
+    public <T> T call(Access access, Supplier<T> work) {
+        Semaphore semaphore = permits.get(access);
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException(ErrorMessages.DATABASE_BUSY_MESSAGE);
+        }
+        long waited = System.nanoTime() - waitStart;
+        if (!acquired) {
+            rejectedWaits.get(access).record(waited, TimeUnit.NANOSECONDS);
+            throw new DatabaseBusyException(ErrorMessages.DATABASE_BUSY_MESSAGE);
+        }
+        acquiredWaits.get(access).record(waited, TimeUnit.NANOSECONDS);
+        try {
+            return work.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.codingchallenge.minidoodlev1.concurrency;
+
+import com.codingchallenge.minidoodlev1.annotation.DatabaseBulkheaded;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link DatabaseBulkheaded} methods to the {@link DatabaseBulkhead}. Ordered ahead of the transaction
+ * advice, so that no connection is taken while waiting for a permit, and after the service metrics, so that the
+ * wait is part of the timed call.
+ */
+@Aspect
+@Component
+@Order(1)
+public class DatabaseBulkheadAspect {
+
+    private final DatabaseBulkhead databaseBulkhead;
+
+    public DatabaseBulkheadAspect(DatabaseBulkhead databaseBulkhead) {
+        this.databaseBulkhead = databaseBulkhead;
+    }
+
+    @Around("@annotation(databaseBulkheaded)")
+    public Object runWithPermit(ProceedingJoinPoint joinPoint, DatabaseBulkheaded databaseBulkheaded) {
+        return databaseBulkhead.call(databaseBulkheaded.value(), () -> {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                // Service methods declare no checked exceptions.
+                throw new IllegalStateException(throwable);
+            }
+        });
+    }
+}
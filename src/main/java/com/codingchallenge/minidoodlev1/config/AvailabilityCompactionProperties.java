@@ -0,0 +1,21 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the background compaction of back-to-back {@code FREE} availabilities.
+ *
+ * @param enabled         whether the compaction runs. Merged slots are booked as a whole, so clients that book one
+ *                        hour out of several adjacent ones should keep it disabled.
+ * @param ownersPerBatch  the number of owners looked up at a time; each of them is compacted in a transaction of
+ *                        its own.
+ * @param maxRowsPerOwner the number of an owner's availabilities looked at in one transaction; the rest is left for
+ *                        the next run.
+ */
+@ConfigurationProperties(prefix = "availability.compaction")
+public record AvailabilityCompactionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") int ownersPerBatch,
+        @DefaultValue("500") int maxRowsPerOwner) {
+}
@@ -0,0 +1,31 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL functions used by availability queries. Picked up by Hibernate through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class AvailabilityFunctionContributor implements FunctionContributor {
+
+    /**
+     * {@code tstzrange_overlaps(start, end, otherStart, otherEnd)}: whether the half-open ranges overlap. Rendered
+     * with the same {@code tstzrange(start_date_time, end_date_time)} expression as the
+     * {@code idx_availability_owner_period} GiST index, so the index serves the lookup. The redundant bounds on
+     * {@code start}, which follow from {@link Availability#MAX_DURATION}, let PostgreSQL prune the monthly
+     * partitions of {@code availabilities} that the window cannot reach.
+     */
+    public static final String TSTZRANGE_OVERLAPS = "tstzrange_overlaps";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                TSTZRANGE_OVERLAPS,
+                "(tstzrange(?1, ?2) && tstzrange(?3, ?4) and ?1 < ?4 and ?1 > cast(?3 as timestamp with time zone) - interval '"
+                        + Availability.MAX_DURATION.toHours() + " hours')",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -0,0 +1,17 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the in-process availability interval index.
+ *
+ * @param enabled   whether overlap checks are answered from memory. The index only sees writes made by this
+ *                  instance, so it must stay disabled when several instances write to the same database.
+ * @param maxOwners the number of owners kept in memory; the least recently used owner is evicted first.
+ */
+@ConfigurationProperties(prefix = "availability.interval-index")
+public record AvailabilityIntervalIndexProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int maxOwners) {
+}
@@ -0,0 +1,22 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the maintenance of the monthly {@code availabilities} partitions.
+ *
+ * @param monthsAhead how many months after the current one get their partition ahead of time. Rows of later
+ *                    months wait in the default partition until their month is created.
+ * @param retention   how long after its last availability ended a partition is removed; unset keeps every month.
+ * @param detachOnly  whether expired partitions are only detached, and kept as standalone tables to be archived,
+ *                    instead of dropped.
+ */
+@ConfigurationProperties(prefix = "availability.partitions")
+public record AvailabilityPartitionProperties(
+        @DefaultValue("12") int monthsAhead,
+        Duration retention,
+        @DefaultValue("false") boolean detachOnly) {
+}
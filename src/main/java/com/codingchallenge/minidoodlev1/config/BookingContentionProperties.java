@@ -0,0 +1,19 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the per-slot booking waitlist.
+ *
+ * @param maxWaiters the number of requests that may wait for one slot while another request books it; {@code 0}
+ *                   rejects every concurrent request right away.
+ * @param maxWait    how long a waiting request is kept before it is rejected.
+ */
+@ConfigurationProperties(prefix = "availability.booking-contention")
+public record BookingContentionProperties(
+        @DefaultValue("20") int maxWaiters,
+        @DefaultValue("5s") Duration maxWait) {
+}
@@ -0,0 +1,20 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the bulkhead that limits how many requests use the database at once.
+ *
+ * @param readPermits  the number of availability queries that may run at the same time.
+ * @param writePermits the number of availability creations and meeting bookings that may run at the same time.
+ * @param maxWait      how long a request waits for a permit before it is rejected.
+ */
+@ConfigurationProperties(prefix = "database-bulkhead")
+public record DatabaseBulkheadProperties(
+        @DefaultValue("6") int readPermits,
+        @DefaultValue("4") int writePermits,
+        @DefaultValue("2s") Duration maxWait) {
+}
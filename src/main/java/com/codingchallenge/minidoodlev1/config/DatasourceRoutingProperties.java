@@ -0,0 +1,36 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of the routing of read-only transactions to database replicas.
+ *
+ * @param enabled              whether read-only transactions are sent to the replicas. Everything else, and
+ *                             everything when disabled, uses the primary {@code spring.datasource}.
+ * @param readYourWritesWindow how long after a successful write a user keeps reading from the primary. It should
+ *                             exceed the usual replication lag.
+ * @param replicas             the replicas; read-only transactions are spread over them in turn.
+ */
+@ConfigurationProperties(prefix = "datasource-routing")
+public record DatasourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue List<Replica> replicas) {
+
+    /**
+     * @param url             the JDBC URL of the replica.
+     * @param username        the database user.
+     * @param password        the password of the database user.
+     * @param maximumPoolSize the number of connections kept to the replica.
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@code Idempotency-Key} handling for the creating endpoints.
+ *
+ * @param store      where completed responses are kept; {@code database} shares them between instances.
+ * @param ttl        how long a completed response is replayed for retries with the same key.
+ * @param maxEntries the number of responses kept by the in-process store; the least recently used is evicted first.
+ * @param maxWait    how long a duplicate request waits for the original request that is still running.
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("memory") Store store,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("30s") Duration maxWait) {
+
+    public enum Store {
+        MEMORY,
+        DATABASE
+    }
+}
@@ -0,0 +1,20 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import com.codingchallenge.minidoodlev1.metrics.JpaStatementCounter;
+import org.hibernate.cfg.JdbcSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hands every SQL statement Hibernate prepares to the {@link JpaStatementCounter}, which backs the per-request
+ * statement counts.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JpaStatementMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jpaStatementCounterCustomizer(JpaStatementCounter jpaStatementCounter) {
+        return hibernateProperties -> hibernateProperties.put(JdbcSettings.STATEMENT_INSPECTOR, jpaStatementCounter);
+    }
+}
@@ -0,0 +1,54 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.Objects;
+
+/**
+ * Sets up the R2DBC connection pool of the reactive availability read path. The pool is separate from the JDBC
+ * pool used by JPA, and no reactive transaction manager is registered: the reactive path only runs single
+ * read statements, all writes stay on JPA.
+ *
+ * <p>The pool is only reachable through the {@link DatabaseClient} bean. A {@code ConnectionFactory} bean would
+ * make Spring Boot skip the auto-configuration of the JDBC {@code DataSource}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "availability.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveReadConfig implements DisposableBean {
+
+    private static final String JDBC_PREFIX = "jdbc:";
+    private static final String R2DBC_PREFIX = "r2dbc:";
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveReadDatabaseClient(ReactiveReadProperties reactiveReadProperties,
+                                                     @Value("${spring.datasource.url}") String datasourceUrl) {
+        String url = Objects.isNull(reactiveReadProperties.url()) ? R2DBC_PREFIX + datasourceUrl.substring(JDBC_PREFIX.length())
+                : reactiveReadProperties.url();
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, reactiveReadProperties.username())
+                .option(ConnectionFactoryOptions.PASSWORD, reactiveReadProperties.password())
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(reactiveReadProperties.maxPoolSize())
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(connectionPool)) {
+            connectionPool.dispose();
+        }
+    }
+}
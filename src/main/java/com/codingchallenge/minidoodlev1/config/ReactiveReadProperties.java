@@ -0,0 +1,25 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the reactive availability read path, which queries the database over R2DBC instead of JDBC.
+ *
+ * @param enabled     whether {@code GET /api/v1/availabilities} can stream its results as newline-delimited JSON.
+ * @param url         the R2DBC URL of the database; derived from {@code spring.datasource.url} when not set.
+ * @param username    the database user.
+ * @param password    the password of the database user.
+ * @param maxPoolSize the number of R2DBC connections; they are only held while rows are being fetched.
+ * @param fetchSize   the number of rows fetched from the database at a time, which bounds how far the query runs
+ *                    ahead of a slow client.
+ */
+@ConfigurationProperties(prefix = "availability.reactive-read")
+public record ReactiveReadProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maxPoolSize,
+        @DefaultValue("100") int fetchSize) {
+}
@@ -0,0 +1,19 @@
+package com.codingchallenge.minidoodlev1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the second-level cache regions holding users by ID and by email.
+ *
+ * @param maxSize the number of users kept per region; the least recently used are evicted first.
+ * @param ttl     how long a cached user is served before it is read from the database again. Users changed
+ *                outside this application are visible after at most this long.
+ */
+@ConfigurationProperties(prefix = "user-cache")
+public record UserCacheProperties(
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("1h") Duration ttl) {
+}
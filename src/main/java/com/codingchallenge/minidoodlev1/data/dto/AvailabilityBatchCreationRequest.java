@@ -0,0 +1,15 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record AvailabilityBatchCreationRequest(
+
+        @NotEmpty
+        @Size(max = 1000)
+        List<@NotNull @Valid AvailabilityCreationRequest> availabilities) {
+}
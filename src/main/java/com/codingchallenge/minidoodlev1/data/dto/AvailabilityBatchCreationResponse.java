@@ -0,0 +1,6 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import java.util.List;
+
+public record AvailabilityBatchCreationResponse(int createdCount, int conflictCount, List<AvailabilityBatchItemResponse> items) {
+}
@@ -0,0 +1,4 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+public record AvailabilityBatchItemResponse(int index, AvailabilityResponse availability, String error) {
+}
@@ -14,5 +14,5 @@ public record AvailabilityCreationRequest(
         Instant startDateTime,
 
         @NotNull
-        Instant endDateTime) {
+        Instant endDateTime) implements AvailabilityPeriod {
 }
@@ -0,0 +1,33 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last item of a page in {@code (startDateTime, id)} order. Virtual rule occurrences have
+ * no ID and are positioned with ID {@code 0}, i.e. before any stored availability with the same start time.
+ */
+public record AvailabilityCursor(Instant startDateTime, long id) {
+
+    public static AvailabilityCursor of(AvailabilityResponse availabilityResponse) {
+        return new AvailabilityCursor(availabilityResponse.startDateTime(), availabilityResponse.id() == null ? 0L : availabilityResponse.id());
+    }
+
+    public static AvailabilityCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new AvailabilityCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), Long.parseLong(parts[2]));
+        } catch (RuntimeException exception) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_CURSOR_MESSAGE, cursor));
+        }
+    }
+
+    public String encode() {
+        String value = startDateTime.getEpochSecond() + ":" + startDateTime.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
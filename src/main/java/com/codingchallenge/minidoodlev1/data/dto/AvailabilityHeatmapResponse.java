@@ -0,0 +1,6 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import java.time.Instant;
+
+public record AvailabilityHeatmapResponse(Instant startDateTime, Instant endDateTime, int bucketMinutes, int ownerCount, int[] freeCounts) {
+}
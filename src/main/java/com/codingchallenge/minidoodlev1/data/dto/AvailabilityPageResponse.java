@@ -0,0 +1,6 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import java.util.List;
+
+public record AvailabilityPageResponse(List<AvailabilityResponse> items, String nextCursor) {
+}
@@ -0,0 +1,15 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import com.codingchallenge.minidoodlev1.annotation.ValidAvailabilityPeriod;
+
+import java.time.Instant;
+
+/**
+ * A request carrying the period of an availability, checked by {@link ValidAvailabilityPeriod}.
+ */
+public interface AvailabilityPeriod {
+
+    Instant startDateTime();
+
+    Instant endDateTime();
+}
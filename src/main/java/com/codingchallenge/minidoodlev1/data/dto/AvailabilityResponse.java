@@ -4,5 +4,5 @@ import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
 
 import java.time.Instant;
 
-public record AvailabilityResponse(Long id, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus) {
+public record AvailabilityResponse(Long id, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus, Long ruleId) {
 }
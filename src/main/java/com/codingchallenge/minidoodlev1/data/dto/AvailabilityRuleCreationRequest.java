@@ -0,0 +1,38 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import com.codingchallenge.minidoodlev1.annotation.ValidAvailabilityRule;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@ValidAvailabilityRule
+public record AvailabilityRuleCreationRequest(
+
+        @NotEmpty
+        Set<DayOfWeek> daysOfWeek,
+
+        @NotNull
+        LocalTime startTime,
+
+        @NotNull
+        LocalTime endTime,
+
+        @NotBlank
+        String timeZone,
+
+        @NotNull
+        LocalDate startDate,
+
+        LocalDate untilDate,
+
+        @Positive
+        @Max(1000)
+        Integer occurrenceCount) {
+}
@@ -0,0 +1,17 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record AvailabilityRuleResponse(
+        Long id,
+        Set<DayOfWeek> daysOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String timeZone,
+        LocalDate startDate,
+        LocalDate untilDate,
+        Integer occurrenceCount) {
+}
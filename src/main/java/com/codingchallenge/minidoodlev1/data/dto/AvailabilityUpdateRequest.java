@@ -1,11 +1,13 @@
 package com.codingchallenge.minidoodlev1.data.dto;
 
 import com.codingchallenge.minidoodlev1.annotation.PresentOrFutureDateTime;
+import com.codingchallenge.minidoodlev1.annotation.ValidAvailabilityPeriod;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.Instant;
 
+@ValidAvailabilityPeriod
 public record AvailabilityUpdateRequest(
 
         @NotNull
@@ -17,5 +19,5 @@ public record AvailabilityUpdateRequest(
 
         @NotNull
         AvailabilityStatus availabilityStatus
-) {
+) implements AvailabilityPeriod {
 }
@@ -0,0 +1,6 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import java.time.Instant;
+
+public record CommonSlotResponse(Instant startDateTime, Instant endDateTime, int availableParticipants) {
+}
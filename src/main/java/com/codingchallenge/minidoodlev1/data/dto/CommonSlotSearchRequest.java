@@ -0,0 +1,35 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CommonSlotSearchRequest(
+
+        @NotEmpty
+        @Size(max = 100)
+        List<@NotBlank String> participantEmails,
+
+        @NotNull
+        Instant startDateTime,
+
+        @NotNull
+        Instant endDateTime,
+
+        @NotNull
+        @Positive
+        Integer minimumDurationMinutes,
+
+        @Positive
+        Integer quorum,
+
+        @Positive
+        @Max(100)
+        Integer limit) {
+}
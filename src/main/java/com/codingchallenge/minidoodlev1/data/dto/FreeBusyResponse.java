@@ -0,0 +1,8 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record FreeBusyResponse(Long ownerId, Instant startDateTime, Instant endDateTime,
+                               List<FreeBusyInterval> free, List<FreeBusyInterval> busy) {
+}
@@ -1,15 +1,21 @@
 package com.codingchallenge.minidoodlev1.data.dto;
 
+import com.codingchallenge.minidoodlev1.annotation.ValidMeetingSlot;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.Instant;
 import java.util.List;
 
+@ValidMeetingSlot
 public record MeetingCreationRequest(
 
-        @NotNull
         Long availabilityId,
 
+        Long ruleId,
+
+        Instant occurrenceStartDateTime,
+
         @NotBlank
         String title,
 
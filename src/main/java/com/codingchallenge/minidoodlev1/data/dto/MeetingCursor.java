@@ -0,0 +1,29 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last item of a page of meetings, which are ordered by ID.
+ */
+public record MeetingCursor(long id) {
+
+    public static MeetingCursor of(MeetingResponse meetingResponse) {
+        return new MeetingCursor(meetingResponse.id());
+    }
+
+    public static MeetingCursor decode(String cursor) {
+        try {
+            return new MeetingCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (RuntimeException exception) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_CURSOR_MESSAGE, cursor));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.codingchallenge.minidoodlev1.data.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MeetingParticipantsRequest(
+
+        @NotEmpty
+        @Size(max = 5000)
+        List<@NotBlank String> participantEmails) {
+}
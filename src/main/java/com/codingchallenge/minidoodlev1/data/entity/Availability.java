@@ -19,6 +19,7 @@ import lombok.Setter;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.time.Duration;
 import java.time.Instant;
 
 @Entity
@@ -30,9 +31,16 @@ import java.time.Instant;
 @Table(name = "availabilities")
 public class Availability {
 
+    /**
+     * The longest an availability may last, enforced by the {@code chk_availability_period} constraint. Every row
+     * overlapping a window starts less than this before the window, which bounds {@code start_date_time}, the
+     * partition key of {@code availabilities}, on both sides.
+     */
+    public static final Duration MAX_DURATION = Duration.ofHours(744);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq_gen")
-    @SequenceGenerator(name = "user_seq_gen", sequenceName = "user_id_seq")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_seq_gen")
+    @SequenceGenerator(name = "availability_seq_gen", sequenceName = "availability_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date_time", nullable = false)
@@ -49,6 +57,9 @@ public class Availability {
     @Column(name = "owner_id")
     private Long ownerId;
 
+    @Column(name = "rule_id")
+    private Long ruleId;
+
     @Version
     @Column(name = "version")
     private Integer version;
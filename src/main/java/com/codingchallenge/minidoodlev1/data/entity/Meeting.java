@@ -11,6 +11,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.NamedAttributeNode;
 import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -18,8 +19,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
-import java.util.List;
+import java.util.Set;
 
 @Entity
 @Getter
@@ -52,11 +54,14 @@ public class Meeting {
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
 
+    // A set, unlike a bag, lets Hibernate insert and delete single rows instead of rewriting the whole collection.
     @ManyToMany
+    @BatchSize(size = 100)
+    @OrderBy("id")
     @JoinTable(
             name = "meetings_participants",
             joinColumns = @JoinColumn(name = "meeting_id"),
             inverseJoinColumns = @JoinColumn(name = "participant_id")
     )
-    private List<User> participants;
+    private Set<User> participants;
 }
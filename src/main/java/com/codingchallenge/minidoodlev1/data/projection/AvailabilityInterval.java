@@ -0,0 +1,6 @@
+package com.codingchallenge.minidoodlev1.data.projection;
+
+import java.time.Instant;
+
+public record AvailabilityInterval(Long id, Instant startDateTime, Instant endDateTime) {
+}
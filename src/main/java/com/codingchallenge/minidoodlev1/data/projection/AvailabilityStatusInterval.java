@@ -0,0 +1,8 @@
+package com.codingchallenge.minidoodlev1.data.projection;
+
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+
+import java.time.Instant;
+
+public record AvailabilityStatusInterval(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus) {
+}
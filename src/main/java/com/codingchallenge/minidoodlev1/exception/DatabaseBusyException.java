@@ -0,0 +1,7 @@
+package com.codingchallenge.minidoodlev1.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
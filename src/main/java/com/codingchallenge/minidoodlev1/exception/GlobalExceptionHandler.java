@@ -2,7 +2,11 @@ package com.codingchallenge.minidoodlev1.exception;
 
 import com.codingchallenge.minidoodlev1.data.dto.ErrorDetailsResponse;
 import com.codingchallenge.minidoodlev1.data.dto.ValidationError;
+import com.codingchallenge.minidoodlev1.utils.ConstraintViolations;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
 import org.jspecify.annotations.Nullable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -51,6 +55,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorDetailsResponse> handleDataIntegrityViolation(DataIntegrityViolationException exception, WebRequest request) {
+        if (!ConstraintViolations.isAvailabilityOverlap(exception)) {
+            throw exception;
+        }
+        return handleAvailabilityConflict(new AvailabilityConflictException(ErrorMessages.AVAILABILITY_CONFLICT_MESSAGE), request);
+    }
+
+    // Raised when an availability changes between reading and writing it, e.g. when it is merged by the compaction.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetailsResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException exception, WebRequest request) {
+        return handleAvailabilityConflict(new AvailabilityConflictException(ErrorMessages.AVAILABILITY_CHANGED_MESSAGE), request);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorDetailsResponse> handleResourceNotFound(ResourceNotFoundException exception, WebRequest request) {
         ErrorDetailsResponse response = new ErrorDetailsResponse(
@@ -76,4 +94,30 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         );
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
+
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ErrorDetailsResponse> handleInvalidRequestParameter(InvalidRequestParameterException exception, WebRequest request) {
+        ErrorDetailsResponse response = new ErrorDetailsResponse(
+                Instant.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                exception.getMessage(),
+                request.getDescription(false).substring(4),
+                null
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ErrorDetailsResponse> handleDatabaseBusy(DatabaseBusyException exception, WebRequest request) {
+        ErrorDetailsResponse response = new ErrorDetailsResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                exception.getMessage(),
+                request.getDescription(false).substring(4),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+    }
 }
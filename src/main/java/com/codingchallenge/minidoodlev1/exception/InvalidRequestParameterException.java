@@ -0,0 +1,7 @@
+package com.codingchallenge.minidoodlev1.exception;
+
+public class InvalidRequestParameterException extends RuntimeException {
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+}
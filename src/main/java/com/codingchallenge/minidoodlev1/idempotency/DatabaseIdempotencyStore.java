@@ -0,0 +1,44 @@
+package com.codingchallenge.minidoodlev1.idempotency;
+
+import com.codingchallenge.minidoodlev1.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps completed responses in the {@code idempotency_keys} table, so a retry reaching another instance is
+ * replayed as well. Expired rows are ignored when read and purged periodically.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        return idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(key, Instant.now())
+                .map(record -> new IdempotentResponse(record.getRequestHash(), record.getStatusCode(),
+                        record.getContentType(), record.getBody(), record.getExpiresAt()));
+    }
+
+    @Override
+    @Transactional
+    public void save(String key, IdempotentResponse response) {
+        // When another instance completed the same key first, its response is kept and is the one replayed.
+        idempotencyRecordRepository.insertIfAbsent(key, response.requestHash(), response.status(), response.contentType(),
+                response.body(), response.expiresAt());
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:10m}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+}
@@ -0,0 +1,261 @@
+package com.codingchallenge.minidoodlev1.idempotency;
+
+import com.codingchallenge.minidoodlev1.config.IdempotencyProperties;
+import com.codingchallenge.minidoodlev1.data.dto.ErrorDetailsResponse;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the creating endpoints safe to retry with an {@code Idempotency-Key} header.
+ *
+ * <p>The first request with a key runs normally and its response is stored for
+ * {@link IdempotencyProperties#ttl()} if it succeeded or was rejected for a reason a retry cannot change; server
+ * errors, conflicts and rate limits are not stored, so their retries run again. Retries with the same key, user and
+ * path get the stored response replayed with an {@code Idempotent-Replayed} header instead of running again; a
+ * retry arriving while the first request is still running waits for it. Reusing a key with a different body
+ * is rejected with 422. Requests without the header are not affected.</p>
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/v1/availabilities",
+            "/api/v1/availabilities/batch",
+            "/api/v1/meetings");
+    // Client errors that depend on the state at the time of the request, such as a contended or already changed slot.
+    private static final Set<Integer> RETRYABLE_CLIENT_ERRORS = Set.of(
+            HttpStatus.REQUEST_TIMEOUT.value(),
+            HttpStatus.CONFLICT.value(),
+            HttpStatus.TOO_EARLY.value(),
+            HttpStatus.TOO_MANY_REQUESTS.value());
+
+    private final IdempotencyStore idempotencyStore;
+    private final JsonMapper jsonMapper;
+    private final Duration ttl;
+    private final Duration maxWait;
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, JsonMapper jsonMapper, IdempotencyProperties properties) {
+        this.idempotencyStore = idempotencyStore;
+        this.jsonMapper = jsonMapper;
+        this.ttl = properties.ttl();
+        this.maxWait = properties.maxWait();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    String.format(ErrorMessages.INVALID_IDEMPOTENCY_KEY_MESSAGE, MAX_KEY_LENGTH));
+            return;
+        }
+        byte[] requestBody = request.getInputStream().readAllBytes();
+        String requestHash = sha256(requestBody);
+        // Keys are chosen by clients, so they are only unique per user and endpoint.
+        String storeKey = request.getHeader("userId") + ":" + request.getRequestURI() + ":" + idempotencyKey;
+
+        while (true) {
+            Optional<IdempotentResponse> stored = idempotencyStore.find(storeKey);
+            if (stored.isPresent()) {
+                replay(request, response, stored.get(), requestHash);
+                return;
+            }
+            CompletableFuture<Void> running = new CompletableFuture<>();
+            CompletableFuture<Void> original = inFlight.putIfAbsent(storeKey, running);
+            if (original != null) {
+                if (!awaitOriginal(original)) {
+                    writeError(request, response, HttpStatus.CONFLICT, ErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE);
+                    return;
+                }
+                continue;
+            }
+            try {
+                // The original may have completed between the lookup above and registering this request.
+                stored = idempotencyStore.find(storeKey);
+                if (stored.isPresent()) {
+                    replay(request, response, stored.get(), requestHash);
+                } else {
+                    execute(new CachedBodyRequest(request, requestBody), response, filterChain, storeKey, requestHash);
+                }
+                return;
+            } finally {
+                inFlight.remove(storeKey, running);
+                running.complete(null);
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String storeKey, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (isStorable(responseWrapper.getStatus())) {
+            idempotencyStore.save(storeKey, new IdempotentResponse(requestHash, responseWrapper.getStatus(),
+                    responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(), Instant.now().plus(ttl)));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static boolean isStorable(int status) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        return series == HttpStatus.Series.SUCCESSFUL
+                || series == HttpStatus.Series.CLIENT_ERROR && !RETRYABLE_CLIENT_ERRORS.contains(status);
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, IdempotentResponse stored,
+                        String requestHash) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_CONTENT, ErrorMessages.IDEMPOTENCY_KEY_REUSED_MESSAGE);
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private boolean awaitOriginal(CompletableFuture<Void> original) throws IOException {
+        try {
+            original.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException exception) {
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException(exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ErrorDetailsResponse errorResponse = new ErrorDetailsResponse(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI(),
+                null
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Serves a request body that was already read to compute its hash.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return inputStream.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is in memory, so it is available and read to the end right away.
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException exception) {
+                        readListener.onError(exception);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.codingchallenge.minidoodlev1.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /**
+     * Returns the response stored under {@code key}, unless it is missing or expired.
+     */
+    Optional<IdempotentResponse> find(String key);
+
+    /**
+     * Stores the response under {@code key}, replacing an expired one. An unexpired response already stored under
+     * {@code key} is kept, so the first completed response is the one replayed.
+     */
+    void save(String key, IdempotentResponse response);
+}
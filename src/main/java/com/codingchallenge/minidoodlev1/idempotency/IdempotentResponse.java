@@ -0,0 +1,16 @@
+package com.codingchallenge.minidoodlev1.idempotency;
+
+import java.time.Instant;
+
+/**
+ * A completed response stored under an idempotency key.
+ *
+ * @param requestHash SHA-256 of the request body, used to detect a key reused for a different request.
+ */
+public record IdempotentResponse(
+        String requestHash,
+        int status,
+        String contentType,
+        byte[] body,
+        Instant expiresAt) {
+}
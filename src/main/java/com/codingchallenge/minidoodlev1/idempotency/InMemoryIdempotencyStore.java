@@ -0,0 +1,46 @@
+package com.codingchallenge.minidoodlev1.idempotency;
+
+import com.codingchallenge.minidoodlev1.config.IdempotencyProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps completed responses in an LRU map bounded by {@link IdempotencyProperties#maxEntries()}.
+ * Expired entries are dropped when they are read.
+ */
+@Component
+@ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotentResponse> responses;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        int maxEntries = properties.maxEntries();
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> find(String key) {
+        IdempotentResponse response = responses.get(key);
+        if (response != null && !response.expiresAt().isAfter(Instant.now())) {
+            responses.remove(key);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(response);
+    }
+
+    @Override
+    public synchronized void save(String key, IdempotentResponse response) {
+        responses.merge(key, response, (stored, added) -> stored.expiresAt().isAfter(Instant.now()) ? stored : added);
+    }
+}
@@ -0,0 +1,17 @@
+package com.codingchallenge.minidoodlev1.mapper;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleCreationRequest;
+import com.codingchallenge.minidoodlev1.data.entity.AvailabilityRule;
+import com.codingchallenge.minidoodlev1.utils.DaysOfWeekMask;
+import org.mapstruct.Mapper;
+
+import java.time.DayOfWeek;
+import java.util.Set;
+
+@Mapper(componentModel = "spring")
+public interface AvailabilityRuleEntityMapper extends EntityMapper<AvailabilityRule, AvailabilityRuleCreationRequest> {
+
+    default Integer toDaysOfWeekMask(Set<DayOfWeek> daysOfWeek) {
+        return daysOfWeek == null ? null : DaysOfWeekMask.toMask(daysOfWeek);
+    }
+}
@@ -0,0 +1,17 @@
+package com.codingchallenge.minidoodlev1.mapper;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleResponse;
+import com.codingchallenge.minidoodlev1.data.entity.AvailabilityRule;
+import com.codingchallenge.minidoodlev1.utils.DaysOfWeekMask;
+import org.mapstruct.Mapper;
+
+import java.time.DayOfWeek;
+import java.util.Set;
+
+@Mapper(componentModel = "spring")
+public interface AvailabilityRuleResponseMapper extends ResponseMapper<AvailabilityRuleResponse, AvailabilityRule> {
+
+    default Set<DayOfWeek> toDaysOfWeek(Integer daysOfWeekMask) {
+        return daysOfWeekMask == null ? null : DaysOfWeekMask.toDaysOfWeek(daysOfWeekMask);
+    }
+}
@@ -0,0 +1,36 @@
+package com.codingchallenge.minidoodlev1.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * Statements of threads that are not counting pass through untouched.
+ */
+@Component
+public class JpaStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> statements = new ThreadLocal<>();
+
+    public void start() {
+        statements.set(new int[1]);
+    }
+
+    /**
+     * @return the number of statements prepared since {@link #start()}
+     */
+    public int stop() {
+        int[] count = statements.get();
+        statements.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = statements.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
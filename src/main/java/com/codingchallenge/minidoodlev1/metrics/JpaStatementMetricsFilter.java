@@ -0,0 +1,61 @@
+package com.codingchallenge.minidoodlev1.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Records how many SQL statements each request makes Hibernate prepare, tagged by endpoint and outcome.
+ *
+ * <p>Only statements prepared on the request thread are counted, so for streamed responses the statements of
+ * the streaming itself, which runs asynchronously, are left out.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JpaStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_PER_REQUEST = "jpa.statements.per.request";
+
+    private final JpaStatementCounter jpaStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    public JpaStatementMetricsFilter(JpaStatementCounter jpaStatementCounter, MeterRegistry meterRegistry) {
+        this.jpaStatementCounter = jpaStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        jpaStatementCounter.start();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            DistributionSummary.builder(STATEMENTS_PER_REQUEST)
+                    .description("SQL statements prepared by Hibernate while serving a request")
+                    .baseUnit("statements")
+                    .tag("endpoint", RequestEndpoints.describe(request))
+                    .tag("outcome", failed ? HttpStatus.Series.SERVER_ERROR.name() : outcome(response.getStatus()))
+                    .register(meterRegistry)
+                    .record(jpaStatementCounter.stop());
+        }
+    }
+
+    private static String outcome(int status) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        return Objects.isNull(series) ? "UNKNOWN" : series.name();
+    }
+}
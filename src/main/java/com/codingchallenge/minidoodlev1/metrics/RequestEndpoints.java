@@ -0,0 +1,36 @@
+package com.codingchallenge.minidoodlev1.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Objects;
+
+/**
+ * Describes requests by HTTP method and matched path pattern, such as {@code PUT /api/v1/availabilities/{availabilityId}},
+ * so that metric tags stay bounded no matter which ids are requested.
+ */
+public final class RequestEndpoints {
+
+    /** Endpoint tag of work not done for a request, or of requests that matched no handler. */
+    public static final String NONE = "none";
+
+    private RequestEndpoints() {
+    }
+
+    public static String describe(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return Objects.isNull(pattern) ? NONE : request.getMethod() + " " + pattern;
+    }
+
+    /**
+     * @return the endpoint of the request bound to the current thread, or {@link #NONE}
+     */
+    public static String current() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return describe(attributes.getRequest());
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,131 @@
+package com.codingchallenge.minidoodlev1.metrics;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPageResponse;
+import com.codingchallenge.minidoodlev1.exception.AvailabilityBookedException;
+import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.DatabaseBusyException;
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
+import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
+import com.codingchallenge.minidoodlev1.service.AvailabilityService;
+import com.codingchallenge.minidoodlev1.service.MeetingService;
+import com.codingchallenge.minidoodlev1.utils.ConstraintViolations;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Times every call to {@code AvailabilityService} and {@code MeetingService}, counts the domain exceptions they
+ * throw and records the size of availability query results.
+ *
+ * <p>Calls are tagged with the service, the method, the endpoint of the request they serve (see
+ * {@link RequestEndpoints}) and an outcome derived from the exception thrown, if any: {@code success},
+ * {@code conflict}, {@code booked}, {@code not_found}, {@code invalid}, {@code busy} or {@code error}. Calls made
+ * from within the same service are not proxied and are therefore only counted as part of their caller. The aspect
+ * is ordered ahead of the transaction advice, which runs last, so commit time and failures at commit are included.</p>
+ */
+@Aspect
+@Component
+@Order(0)
+public class ServiceMetricsAspect {
+
+    static final String SERVICE_TIMER = "scheduling.service";
+    static final String EXCEPTION_COUNTER = "scheduling.service.exceptions";
+    static final String QUERY_RESULT_SIZE = "availability.query.result.size";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.codingchallenge.minidoodlev1.service.AvailabilityService+.*(..))"
+            + " || execution(public * com.codingchallenge.minidoodlev1.service.MeetingService+.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            Throwable reported = reported(failure);
+            Tags tags = Tags.of(
+                    "service", serviceName(joinPoint),
+                    "method", joinPoint.getSignature().getName(),
+                    "endpoint", RequestEndpoints.current());
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                    .description("Time spent in the scheduling services")
+                    .tags(tags)
+                    .tag("outcome", outcome(reported))
+                    .register(meterRegistry));
+            if (isCountedException(reported)) {
+                Counter.builder(EXCEPTION_COUNTER)
+                        .description("Domain exceptions thrown by the scheduling services")
+                        .tags(tags)
+                        .tag("exception", reported.getClass().getSimpleName())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(* com.codingchallenge.minidoodlev1.service.AvailabilityService+.queryAvailabilities(..))",
+            returning = "result")
+    public void recordQueryResultSize(Object result) {
+        int size = result instanceof AvailabilityPageResponse page ? page.items().size() : 0;
+        DistributionSummary.builder(QUERY_RESULT_SIZE)
+                .description("Number of availabilities returned by a query")
+                .baseUnit("availabilities")
+                .tag("endpoint", RequestEndpoints.current())
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    private static String serviceName(ProceedingJoinPoint joinPoint) {
+        // Named after the interface rather than the implementation class, which may be a generated subclass.
+        return joinPoint.getTarget() instanceof AvailabilityService
+                ? AvailabilityService.class.getSimpleName()
+                : MeetingService.class.getSimpleName();
+    }
+
+    /**
+     * @return the exception as reported to the client, so an overlap caught by the database at commit counts
+     * as the {@link AvailabilityConflictException} the API answers with
+     */
+    private static Throwable reported(Throwable failure) {
+        if (failure instanceof DataIntegrityViolationException exception && ConstraintViolations.isAvailabilityOverlap(exception)) {
+            return new AvailabilityConflictException(ErrorMessages.AVAILABILITY_CONFLICT_MESSAGE);
+        }
+        return failure;
+    }
+
+    private static boolean isCountedException(Throwable failure) {
+        return failure instanceof AvailabilityConflictException
+                || failure instanceof AvailabilityBookedException
+                || failure instanceof ResourceNotFoundException;
+    }
+
+    private static String outcome(Throwable failure) {
+        return switch (failure) {
+            case null -> "success";
+            case AvailabilityConflictException ignored -> "conflict";
+            case AvailabilityBookedException ignored -> "booked";
+            case ResourceNotFoundException ignored -> "not_found";
+            case InvalidRequestParameterException ignored -> "invalid";
+            case DatabaseBusyException ignored -> "busy";
+            default -> "error";
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.codingchallenge.minidoodlev1.partition;
+
+import com.codingchallenge.minidoodlev1.cache.AvailabilityIntervalIndex;
+import com.codingchallenge.minidoodlev1.config.AvailabilityPartitionProperties;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityPartitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the monthly partitions of {@code availabilities} ahead of the calendar and removes expired ones.
+ *
+ * <p>Each run creates the partitions of the current month and of the configured months ahead, and of every month
+ * whose rows have landed in the default partition. With a retention configured, a partition is detached, and
+ * dropped unless only detaching is configured, once every availability it can hold has ended more than the
+ * retention ago; that removes a month at once instead of deleting its rows one by one.</p>
+ *
+ * <p>Creating a partition locks the default partition exclusively and can fail, e.g. on a lock timeout. Such a
+ * month is counted as failed and left to the next run, which tries it again; the other months go on.</p>
+ */
+@Component
+public class AvailabilityPartitionMaintenance {
+
+    static final String PARTITIONS = "availability.partitions";
+
+    private final AvailabilityPartitionRepository availabilityPartitionRepository;
+    private final AvailabilityIntervalIndex availabilityIntervalIndex;
+    private final AvailabilityPartitionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Autowired
+    public AvailabilityPartitionMaintenance(AvailabilityPartitionRepository availabilityPartitionRepository,
+                                            AvailabilityIntervalIndex availabilityIntervalIndex,
+                                            AvailabilityPartitionProperties properties, MeterRegistry meterRegistry) {
+        this(availabilityPartitionRepository, availabilityIntervalIndex, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    AvailabilityPartitionMaintenance(AvailabilityPartitionRepository availabilityPartitionRepository,
+                                     AvailabilityIntervalIndex availabilityIntervalIndex,
+                                     AvailabilityPartitionProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.availabilityPartitionRepository = availabilityPartitionRepository;
+        this.availabilityIntervalIndex = availabilityIntervalIndex;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    // The first run happens at startup.
+    @Scheduled(fixedDelayString = "${availability.partitions.maintenance-interval:1h}")
+    public void maintain() {
+        List<YearMonth> existing = availabilityPartitionRepository.findPartitionMonths();
+        createMissingPartitions(existing);
+        removeExpiredPartitions(existing);
+    }
+
+    private void createMissingPartitions(List<YearMonth> existing) {
+        Set<YearMonth> months = new TreeSet<>(availabilityPartitionRepository.findDefaultPartitionMonths());
+        YearMonth currentMonth = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int ahead = 0; ahead <= properties.monthsAhead(); ahead++) {
+            months.add(currentMonth.plusMonths(ahead));
+        }
+        existing.forEach(months::remove);
+        for (YearMonth month : months) {
+            try {
+                if (availabilityPartitionRepository.createPartition(month)) {
+                    meterRegistry.counter(PARTITIONS, "operation", "created").increment();
+                }
+            } catch (DataAccessException exception) {
+                meterRegistry.counter(PARTITIONS, "operation", "failed").increment();
+            }
+        }
+    }
+
+    private void removeExpiredPartitions(List<YearMonth> existing) {
+        if (Objects.isNull(properties.retention())) {
+            return;
+        }
+        Instant cutoff = clock.instant().minus(properties.retention());
+        for (YearMonth month : existing) {
+            // Rows start before the end of their month and last at most MAX_DURATION.
+            Instant lastEnd = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().plus(Availability.MAX_DURATION);
+            if (lastEnd.isAfter(cutoff)) {
+                break;
+            }
+            availabilityPartitionRepository.removePartition(month, !properties.detachOnly())
+                    .forEach(availabilityIntervalIndex::invalidate);
+            meterRegistry.counter(PARTITIONS, "operation", properties.detachOnly() ? "detached" : "dropped").increment();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manages the monthly partitions of {@code availabilities}, named {@code availabilities_pYYYY_MM} and bounded by
+ * the month in UTC. Partitions are created by the {@code create_availability_partition} database function, which
+ * also moves the month's rows out of the default partition.
+ */
+@Repository
+public class AvailabilityPartitionRepository {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("availabilities_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AvailabilityPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The months that have a partition attached to {@code availabilities}.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                                 JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'availabilities'::regclass
+                        """, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * The months of the rows waiting in the default partition for a partition of their own.
+     */
+    public List<YearMonth> findDefaultPartitionMonths() {
+        return jdbcTemplate.query("SELECT DISTINCT date_trunc('month', start_date_time, 'UTC') FROM availabilities_default",
+                (resultSet, rowNumber) -> YearMonth.from(resultSet.getObject(1, OffsetDateTime.class).withOffsetSameInstant(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Creates the partition of the month unless it exists. The function runs in a transaction of its own and locks
+     * the default partition exclusively while it moves the month's rows; when it fails, nothing of it is kept.
+     *
+     * @return whether the partition was created.
+     */
+    public boolean createPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT create_availability_partition(?)", Boolean.class,
+                month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Detaches the partition of the month and, with {@code drop}, drops it. Detaching locks {@code availabilities}
+     * exclusively until the transaction ends, so the transaction does no more than count a calendar change for
+     * every owner with rows in the partition.
+     *
+     * @return the owners whose availabilities were removed.
+     */
+    @Transactional
+    public List<Long> removePartition(YearMonth month, boolean drop) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE availabilities DETACH PARTITION " + partition);
+        List<Long> ownerIds = jdbcTemplate.queryForList("""
+                INSERT INTO owner_change_versions (owner_id, version)
+                SELECT DISTINCT owner_id, 1 FROM %s
+                ON CONFLICT (owner_id) DO UPDATE SET version = owner_change_versions.version + 1
+                RETURNING owner_id
+                """.formatted(partition), Long.class);
+        if (drop) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+        return ownerIds;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "availabilities_p" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,19 +1,136 @@
 package com.codingchallenge.minidoodlev1.repository;
 
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityInterval;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityStatusInterval;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AvailabilityRepository extends JpaRepository<Availability, Long>, JpaSpecificationExecutor<Availability> {
+public interface AvailabilityRepository extends JpaRepository<Availability, Long>, JpaSpecificationExecutor<Availability>,
+        AvailabilityScrollRepository {
 
-    boolean existsByOwnerIdAndStartDateTimeBeforeAndEndDateTimeAfter(Long ownerId, Instant startDateTimeBefore, Instant endDateTimeAfter);
+    @Query("""
+            SELECT COUNT(a) > 0
+            FROM Availability a
+            WHERE a.ownerId = :ownerId AND tstzrange_overlaps(a.startDateTime, a.endDateTime, :startDateTime, :endDateTime)
+            """)
+    boolean existsOverlapping(@Param("ownerId") Long ownerId,
+                              @Param("startDateTime") Instant startDateTime,
+                              @Param("endDateTime") Instant endDateTime);
+
+    @Query("""
+            SELECT new com.codingchallenge.minidoodlev1.data.projection.AvailabilityInterval(a.id, a.startDateTime, a.endDateTime)
+            FROM Availability a
+            WHERE a.ownerId = :ownerId AND tstzrange_overlaps(a.startDateTime, a.endDateTime, :startDateTime, :endDateTime)
+            ORDER BY a.startDateTime
+            """)
+    List<AvailabilityInterval> findOverlappingIntervals(@Param("ownerId") Long ownerId,
+                                                        @Param("startDateTime") Instant startDateTime,
+                                                        @Param("endDateTime") Instant endDateTime);
+
+    @Query("""
+            SELECT new com.codingchallenge.minidoodlev1.data.projection.AvailabilityStatusInterval(a.ownerId, a.startDateTime, a.endDateTime, a.availabilityStatus)
+            FROM Availability a
+            WHERE a.ownerId IN :ownerIds AND tstzrange_overlaps(a.startDateTime, a.endDateTime, :startDateTime, :endDateTime)
+            ORDER BY a.ownerId, a.startDateTime, a.id
+            """)
+    List<AvailabilityStatusInterval> findStatusIntervals(@Param("ownerIds") Collection<Long> ownerIds,
+                                                         @Param("startDateTime") Instant startDateTime,
+                                                         @Param("endDateTime") Instant endDateTime);
+
+    List<AvailabilityInterval> findByOwnerIdOrderByStartDateTimeAsc(Long ownerId);
+
+    /**
+     * Books the availability if it is still {@code FREE}, in a single statement.
+     *
+     * <p>Deliberately not {@code @Modifying}: the owner comes back through {@code RETURNING}, which has to be read
+     * as a result set, and {@code executeUpdate} would reject it. The statement bypasses the persistence context,
+     * so it must run before the availability is loaded in the transaction; an instance loaded earlier would keep
+     * its old status and {@code version}.</p>
+     *
+     * @return the owner of the availability, or empty if it does not exist or is not {@code FREE}.
+     */
+    @Query(value = """
+            UPDATE availabilities
+            SET availability_status = 'BUSY', version = version + 1, updated_at = CURRENT_TIMESTAMP
+            WHERE id = :availabilityId AND availability_status = 'FREE'
+            RETURNING owner_id
+            """, nativeQuery = true)
+    Optional<Long> claimFree(@Param("availabilityId") Long availabilityId);
 
     boolean existsByIdAndOwnerId(Long availabilityId, Long ownerId);
 
     Optional<Availability> findByIdAndOwnerId(Long availabilityId, Long ownerId);
+
+    /**
+     * Owners after {@code afterOwnerId}, in id order, with a {@code FREE} availability ending after {@code now}
+     * that is immediately followed by another {@code FREE} one. Occurrences of recurrence rules are left out.
+     */
+    @Query(value = """
+            SELECT DISTINCT a.owner_id
+            FROM availabilities a
+            WHERE a.owner_id > :afterOwnerId AND a.availability_status = 'FREE' AND a.rule_id IS NULL
+              AND a.end_date_time > :now AND a.start_date_time > :earliestStartDateTime
+              AND EXISTS (SELECT 1
+                          FROM availabilities b
+                          WHERE b.owner_id = a.owner_id AND b.availability_status = 'FREE' AND b.rule_id IS NULL
+                            AND b.start_date_time = a.end_date_time)
+            ORDER BY a.owner_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findCompactableOwnerIds(@Param("afterOwnerId") Long afterOwnerId,
+                                       @Param("now") Instant now,
+                                       @Param("earliestStartDateTime") Instant earliestStartDateTime,
+                                       @Param("limit") int limit);
+
+    /**
+     * Locks the owner's availabilities with the given status that are not rule occurrences and end after
+     * {@code now}, in start order. Rows locked by other transactions are skipped instead of waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // A lock timeout of -2 renders FOR UPDATE SKIP LOCKED.
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+            SELECT a
+            FROM Availability a
+            WHERE a.ownerId = :ownerId AND a.availabilityStatus = :availabilityStatus AND a.ruleId IS NULL
+              AND a.endDateTime > :now AND a.startDateTime > :earliestStartDateTime
+            ORDER BY a.startDateTime
+            """)
+    List<Availability> lockForCompaction(@Param("ownerId") Long ownerId,
+                                         @Param("availabilityStatus") AvailabilityStatus availabilityStatus,
+                                         @Param("now") Instant now,
+                                         @Param("earliestStartDateTime") Instant earliestStartDateTime,
+                                         Limit limit);
+
+    /**
+     * Takes the transaction-scoped advisory lock of the owner, waiting for it if needed. The overlap trigger of
+     * {@code availabilities} takes the same lock, so holding it before reading the owner's rules and availabilities
+     * serializes checks that span both with every other write of the owner until the transaction ends.
+     */
+    @Query(value = "SELECT true FROM pg_advisory_xact_lock(:ownerId)", nativeQuery = true)
+    boolean lockOwner(@Param("ownerId") Long ownerId);
+
+    /**
+     * Takes the transaction-scoped advisory lock of the owner if it is free. The overlap trigger of
+     * {@code availabilities} takes the same lock for every insert and move of the owner's availabilities.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:ownerId)", nativeQuery = true)
+    boolean tryLockOwner(@Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,21 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.data.entity.AvailabilityRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRule, Long> {
+
+    List<AvailabilityRule> findAllByOwnerIdIn(Collection<Long> ownerIds);
+
+    List<AvailabilityRule> findAllByOwnerIdOrderByIdAsc(Long ownerId);
+
+    Optional<AvailabilityRule> findByIdAndOwnerId(Long ruleId, Long ownerId);
+
+    boolean existsByIdAndOwnerId(Long ruleId, Long ownerId);
+}
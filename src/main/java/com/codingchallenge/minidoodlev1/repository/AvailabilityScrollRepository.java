@@ -0,0 +1,17 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.function.Consumer;
+
+public interface AvailabilityScrollRepository {
+
+    /**
+     * Reads all availabilities matching {@code specification} through a forward-only JDBC cursor and hands
+     * them to {@code consumer} one by one. Each entity is detached right after the consumer returns, so the
+     * persistence context never holds more than one row. Must be called inside a transaction.
+     */
+    void scrollAll(Specification<Availability> specification, Sort sort, int fetchSize, Consumer<Availability> consumer);
+}
@@ -0,0 +1,47 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.function.Consumer;
+
+public class AvailabilityScrollRepositoryImpl implements AvailabilityScrollRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void scrollAll(Specification<Availability> specification, Sort sort, int fetchSize, Consumer<Availability> consumer) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Availability> query = cb.createQuery(Availability.class);
+        Root<Availability> root = query.from(Availability.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        Query<Availability> scrollQuery = entityManager.createQuery(query).unwrap(Query.class);
+        try (ScrollableResults<Availability> results = scrollQuery
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Availability availability = results.get();
+                consumer.accept(availability);
+                entityManager.detach(availability);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.data.entity.IdempotencyRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    Optional<IdempotencyRecord> findByIdempotencyKeyAndExpiresAtAfter(String idempotencyKey, Instant now);
+
+    /**
+     * Stores a completed response unless an unexpired one is already stored for the key, so the first response
+     * stored for a key is the one replayed, whichever instance completes it last. An expired row that was not
+     * purged yet is replaced.
+     *
+     * @return 1 if the response was stored, 0 if the key already holds an unexpired one.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, request_hash, status_code, content_type, body, expires_at)
+            VALUES (:idempotencyKey, :requestHash, :statusCode, :contentType, :body, :expiresAt)
+            ON CONFLICT (idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash,
+                    status_code  = EXCLUDED.status_code,
+                    content_type = EXCLUDED.content_type,
+                    body         = EXCLUDED.body,
+                    expires_at   = EXCLUDED.expires_at,
+                    created_at   = CURRENT_TIMESTAMP
+                WHERE idempotency_keys.expires_at <= CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("idempotencyKey") String idempotencyKey,
+                       @Param("requestHash") String requestHash,
+                       @Param("statusCode") int statusCode,
+                       @Param("contentType") String contentType,
+                       @Param("body") byte[] body,
+                       @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -2,10 +2,54 @@ package com.codingchallenge.minidoodlev1.repository;
 
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
 import com.codingchallenge.minidoodlev1.data.entity.Meeting;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, Long>, JpaSpecificationExecutor<Availability> {
+
+    @EntityGraph("meeting-with-organizer-and-participants")
+    Optional<Meeting> findWithOrganizerAndParticipantsById(Long meetingId);
+
+    // Participants are not fetched here: a collection fetch would make Hibernate apply the limit in memory.
+    // They are loaded for the whole page in batches, see Meeting#participants.
+    @EntityGraph(attributePaths = "organizer")
+    @Query("SELECT m FROM Meeting m JOIN m.participants p WHERE p.id = :participantId AND m.id > :afterId ORDER BY m.id")
+    List<Meeting> findPageByParticipantId(@Param("participantId") Long participantId, @Param("afterId") long afterId, Limit limit);
+
+    boolean existsByIdAndOrganizerId(Long meetingId, Long organizerId);
+
+    // Without declared query spaces a native update would evict every second-level cache region, users included.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "meetings_participants"))
+    @Query(value = """
+            INSERT INTO meetings_participants (meeting_id, participant_id)
+            SELECT :meetingId, u.id FROM users u WHERE u.id IN (:participantIds)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int addParticipants(@Param("meetingId") Long meetingId, @Param("participantIds") Collection<Long> participantIds);
+
+    // The organizer is always a participant and is never removed.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "meetings_participants"))
+    @Query(value = """
+            DELETE FROM meetings_participants mp
+            USING meetings m, users u
+            WHERE mp.meeting_id = :meetingId AND m.id = mp.meeting_id
+              AND u.id = mp.participant_id AND u.email IN (:emails) AND mp.participant_id <> m.organizer_id
+            """, nativeQuery = true)
+    int removeParticipants(@Param("meetingId") Long meetingId, @Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,34 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.data.entity.OwnerChangeVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OwnerChangeVersionRepository extends JpaRepository<OwnerChangeVersion, Long> {
+
+    @Query("SELECT v.version FROM OwnerChangeVersion v WHERE v.ownerId = :ownerId")
+    Optional<Long> findVersionByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Counts a change of the owner's calendar, creating the counter on the first change. The counter row stays
+     * locked until the surrounding transaction ends, so it should be the last write of the transaction.
+     */
+    // Without declared query spaces a native update would evict every second-level cache region, users included.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "owner_change_versions"))
+    @Query(value = """
+            INSERT INTO owner_change_versions (owner_id, version)
+            VALUES (:ownerId, 1)
+            ON CONFLICT (owner_id) DO UPDATE SET version = owner_change_versions.version + 1
+            """, nativeQuery = true)
+    int increment(@Param("ownerId") Long ownerId);
+}
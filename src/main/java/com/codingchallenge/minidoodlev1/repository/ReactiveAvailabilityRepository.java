@@ -0,0 +1,83 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.config.ReactiveReadProperties;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Reads availabilities over R2DBC with the filters of
+ * {@link com.codingchallenge.minidoodlev1.specification.AvailabilitySpecification}: the owner, the optional
+ * status and the optional overlap window, the latter with the same {@code tstzrange} expression as the
+ * {@code idx_availability_owner_period} GiST index so that the index serves the lookup, and with the bounds on
+ * {@code start_date_time} that prune the monthly partitions.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "availability.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveAvailabilityRepository {
+
+    private static final String SELECT = """
+            SELECT id, start_date_time, end_date_time, availability_status::text AS availability_status, owner_id, rule_id, version
+            FROM availabilities
+            WHERE owner_id = :ownerId""";
+    private static final String STATUS_FILTER = " AND availability_status = CAST(:availabilityStatus AS availability_status)";
+    private static final String OVERLAP_FILTER = " AND tstzrange(start_date_time, end_date_time) && tstzrange(:startDateTime, :endDateTime)"
+            + " AND start_date_time < :endDateTime AND start_date_time > :earliestStartDateTime";
+    private static final String ORDER = " ORDER BY start_date_time, id";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveAvailabilityRepository(DatabaseClient reactiveReadDatabaseClient, ReactiveReadProperties reactiveReadProperties) {
+        this.databaseClient = reactiveReadDatabaseClient;
+        this.fetchSize = reactiveReadProperties.fetchSize();
+    }
+
+    /**
+     * Emits the matching availabilities in {@code (startDateTime, id)} order. Rows are fetched {@code fetchSize}
+     * at a time as the subscriber requests them, so a slow subscriber holds back the query instead of buffering
+     * the result.
+     */
+    public Flux<Availability> findAll(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus) {
+        boolean overlapping = Objects.nonNull(startDateTime) && Objects.nonNull(endDateTime);
+        StringBuilder sql = new StringBuilder(SELECT);
+        if (Objects.nonNull(availabilityStatus)) {
+            sql.append(STATUS_FILTER);
+        }
+        if (overlapping) {
+            sql.append(OVERLAP_FILTER);
+        }
+        sql.append(ORDER);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("ownerId", ownerId);
+        if (Objects.nonNull(availabilityStatus)) {
+            spec = spec.bind("availabilityStatus", availabilityStatus.name());
+        }
+        if (overlapping) {
+            spec = spec.bind("startDateTime", startDateTime).bind("endDateTime", endDateTime)
+                    .bind("earliestStartDateTime", startDateTime.minus(Availability.MAX_DURATION));
+        }
+        return spec.map(ReactiveAvailabilityRepository::toAvailability).all();
+    }
+
+    private static Availability toAvailability(Readable row) {
+        return Availability.builder()
+                .id(row.get("id", Long.class))
+                .startDateTime(row.get("start_date_time", Instant.class))
+                .endDateTime(row.get("end_date_time", Instant.class))
+                .availabilityStatus(AvailabilityStatus.valueOf(row.get("availability_status", String.class)))
+                .ownerId(row.get("owner_id", Long.class))
+                .ruleId(row.get("rule_id", Long.class))
+                .version(row.get("version", Integer.class))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.data.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserNaturalIdRepository {
+
+    /**
+     * Loads the users with the given emails by natural ID. Users found in the second-level cache are served
+     * from it; only the remaining emails are read from the database, with one query. Emails without a user
+     * are skipped.
+     */
+    List<User> findAllByNaturalIdIn(Collection<String> emails);
+}
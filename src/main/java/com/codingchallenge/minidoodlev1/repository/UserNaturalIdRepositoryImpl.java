@@ -0,0 +1,46 @@
+package com.codingchallenge.minidoodlev1.repository;
+
+import com.codingchallenge.minidoodlev1.data.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.NaturalIdResolutions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.metamodel.mapping.EntityMappingType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<User> findAllByNaturalIdIn(Collection<String> emails) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityMappingType userMapping = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+        NaturalIdResolutions naturalIdResolutions = session.getPersistenceContextInternal().getNaturalIdResolutions();
+
+        // Multi-loading by natural ID always queries the database, so cached resolutions are looked up first.
+        List<User> users = new ArrayList<>();
+        List<String> misses = new ArrayList<>();
+        for (String email : new LinkedHashSet<>(emails)) {
+            Object userId = naturalIdResolutions.findCachedIdByNaturalId(email, userMapping);
+            User user = Objects.isNull(userId) ? null : session.find(User.class, userId);
+            if (Objects.isNull(user)) {
+                misses.add(email);
+            } else {
+                users.add(user);
+            }
+        }
+        if (!misses.isEmpty()) {
+            session.byMultipleNaturalId(User.class).multiLoad(misses).stream()
+                    .filter(Objects::nonNull)
+                    .forEach(users::add);
+        }
+        return users;
+    }
+}
@@ -4,10 +4,6 @@ import com.codingchallenge.minidoodlev1.data.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collection;
-import java.util.List;
-
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    List<User> findAllByEmailIn(Collection<String> emails);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 }
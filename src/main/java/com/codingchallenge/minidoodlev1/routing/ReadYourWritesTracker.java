@@ -0,0 +1,89 @@
+package com.codingchallenge.minidoodlev1.routing;
+
+import com.codingchallenge.minidoodlev1.config.DatasourceRoutingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so that their reads go to the primary until the replicas have caught up.
+ *
+ * <p>The user of the current request is bound to the request thread by {@link ReadYourWritesFilter}. A write is
+ * recorded when a read-write transaction of the user commits, which is before the response reporting it is written,
+ * so a read sent right after the response already goes to the primary. Writes are only known to the instance that
+ * served them, so with several instances a user must stick to one instance for the guarantee to hold.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final ThreadLocal<Long> currentUserId = new ThreadLocal<>();
+    private final Map<Long, Instant> primaryReadsUntil = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final Clock clock;
+
+    @Autowired
+    public ReadYourWritesTracker(DatasourceRoutingProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(DatasourceRoutingProperties properties, Clock clock) {
+        this.window = properties.readYourWritesWindow();
+        this.clock = clock;
+    }
+
+    void bind(Long userId) {
+        currentUserId.set(userId);
+    }
+
+    void clear() {
+        currentUserId.remove();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        Long userId = currentUserId.get();
+        if (Objects.nonNull(userId) && Objects.isNull(commitFailure) && !transaction.isReadOnly()) {
+            recordWrite(userId);
+        }
+    }
+
+    void recordWrite(Long userId) {
+        Instant now = clock.instant();
+        if (primaryReadsUntil.size() >= PRUNE_THRESHOLD) {
+            primaryReadsUntil.values().removeIf(until -> !until.isAfter(now));
+        }
+        primaryReadsUntil.put(userId, now.plus(window));
+    }
+
+    /**
+     * Whether the user of the current request wrote within the read-your-writes window. Requests without a user,
+     * such as background work, may read from a replica.
+     */
+    public boolean currentUserMustReadFromPrimary() {
+        Long userId = currentUserId.get();
+        if (Objects.isNull(userId)) {
+            return false;
+        }
+        Instant until = primaryReadsUntil.get(userId);
+        if (Objects.isNull(until)) {
+            return false;
+        }
+        if (!until.isAfter(clock.instant())) {
+            primaryReadsUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.codingchallenge.minidoodlev1.service;
+
+import java.util.List;
+
+public interface AvailabilityCompactionService {
+
+    /**
+     * Finds owners whose calendar holds back-to-back {@code FREE} availabilities that could be merged.
+     *
+     * <p>Only availabilities that end in the future and are not occurrences of a recurrence rule are
+     * considered; a stored occurrence has to stay a row of its own so that it keeps overriding its rule.</p>
+     *
+     * @param afterOwnerId The owner ID to continue after; owners are returned in ascending ID order.
+     * @param limit        The maximum number of owners to return.
+     * @return The IDs of the owners, or an empty list once no owner after {@code afterOwnerId} qualifies.
+     */
+    List<Long> findCompactableOwners(Long afterOwnerId, int limit);
+
+    /**
+     * Merges every run of back-to-back {@code FREE} availabilities of one owner into its first row, in a
+     * transaction of its own.
+     *
+     * <p>The first row of a run is extended to the end of the run and the other rows are deleted, as long
+     * as the merged row does not exceed {@code Availability.MAX_DURATION}. Rows locked by a concurrent
+     * transaction, and an owner whose availabilities are being written, are skipped rather than waited for.
+     * The owner's write lock and the merged rows are only held until this owner's transaction commits, and
+     * the merge goes through the rows' {@code @Version}, so a concurrent update made from an earlier read
+     * fails with an optimistic locking conflict instead of overwriting the merge.</p>
+     *
+     * @param ownerId The ID of the owner to compact.
+     * @return The number of availabilities merged into an adjacent one and deleted.
+     */
+    int compact(Long ownerId);
+}
@@ -0,0 +1,72 @@
+package com.codingchallenge.minidoodlev1.service;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleResponse;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface AvailabilityRuleService {
+
+    /**
+     * Creates a weekly recurrence rule that describes repeating FREE availability of a user.
+     *
+     * <p>The rule is stored once and is never expanded into rows up front. Its occurrences are computed
+     * on demand for the time window being queried, and an occurrence only becomes a row in
+     * {@code availabilities} once it is booked.</p>
+     *
+     * @param ownerId                         The unique identifier (ID) of the user who owns the rule.
+     * @param availabilityRuleCreationRequest The DTO containing the days of week, wall-clock time window,
+     *                                        time zone and the date range or occurrence count of the rule.
+     * @return An {@code AvailabilityRuleResponse} DTO representing the persisted rule.
+     * @throws AvailabilityConflictException if occurrences of the new rule overlap occurrences of another
+     *                                       rule of the same user within the first year both are active.
+     */
+    AvailabilityRuleResponse createAvailabilityRule(Long ownerId, AvailabilityRuleCreationRequest availabilityRuleCreationRequest);
+
+    /**
+     * Retrieves all recurrence rules of a user.
+     *
+     * @param ownerId The unique identifier (ID) of the user who owns the rules.
+     * @return A {@code List} of {@code AvailabilityRuleResponse} DTOs ordered by ID. Returns an empty list
+     * if the user has no rules.
+     */
+    List<AvailabilityRuleResponse> getAvailabilityRules(Long ownerId);
+
+    /**
+     * Deletes a recurrence rule. Occurrences that were already booked stay as regular availabilities.
+     *
+     * @param ownerId The unique identifier (ID) of the user attempting the deletion.
+     * @param ruleId  The unique identifier (ID) of the rule to delete.
+     * @throws ResourceNotFoundException if no rule exists with the given {@code ruleId} for the given {@code ownerId}.
+     */
+    void deleteAvailabilityRule(Long ownerId, Long ruleId);
+
+    /**
+     * Expands the rules of the given users into virtual occurrences that overlap {@code [from, to)}.
+     *
+     * <p>The returned {@link Availability} objects are transient: they have no ID, carry the ID of the rule
+     * they originate from and are always {@code FREE}. Occurrences overridden by concrete availabilities
+     * are <b>not</b> removed here; callers are expected to do that with the rows they already loaded.</p>
+     *
+     * @param ownerIds The unique identifiers (IDs) of the users whose rules are expanded.
+     * @param from     The inclusive start of the window.
+     * @param to       The exclusive end of the window.
+     * @return A {@code List} of occurrences ordered by start time.
+     */
+    List<Availability> findOccurrences(Collection<Long> ownerIds, Instant from, Instant to);
+
+    /**
+     * Resolves a single virtual occurrence of a rule so that it can be materialized.
+     *
+     * @param ruleId        The unique identifier (ID) of the rule.
+     * @param startDateTime The exact start time of the occurrence.
+     * @return A transient {@link Availability} describing the occurrence.
+     * @throws ResourceNotFoundException if the rule does not exist or has no occurrence starting at {@code startDateTime}.
+     */
+    Availability findOccurrence(Long ruleId, Instant startDateTime);
+}
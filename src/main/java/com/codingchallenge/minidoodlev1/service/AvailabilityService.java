@@ -1,20 +1,32 @@
 package com.codingchallenge.minidoodlev1.service;
 
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityHeatmapResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPageResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityUpdateRequest;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotResponse;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotSearchRequest;
+import com.codingchallenge.minidoodlev1.data.dto.FreeBusyResponse;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
 import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
 import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AvailabilityService {
     /**
      * Creates a new availability entry for a specific user based on the provided time slot.
      * * <p>This method checks for time slot conflicts against any existing availabilities
-     * for the user, preventing overlaps.</p>
+     * for the user, and against occurrences of the user's recurrence rules, preventing overlaps.
+     * Overlaps with stored availabilities are not queried up front: the slot is inserted right away
+     * and rejected by the database overlap trigger, which also holds for concurrent requests.</p>
      *
      * @param userId                      The unique identifier (ID) of the user for whom the availability is being created.
      * @param availabilityCreationRequest The DTO containing the desired start and end date times
@@ -29,21 +41,136 @@ public interface AvailabilityService {
     AvailabilityResponse createAvailability(Long userId, AvailabilityCreationRequest availabilityCreationRequest);
 
     /**
-     * Queries and retrieves a list of availability slots that match the specified criteria.
+     * Creates multiple availability entries for a specific user in a single transaction.
      *
-     * <p>This method finds all existing availability records associated with the given owner ID
-     * that fall within the specified time range and have the designated availability status.
-     * The time range query uses overlap logic (existing slot intersects with the query window)
-     * rather than strict containment.</p>
+     * <p>All requested slots are checked for conflicts at once: the existing availabilities of the
+     * user that fall into the time envelope of the whole batch are loaded with a single query, and
+     * every requested slot is compared against them and against the slots accepted earlier in the
+     * same batch. Slots that conflict are skipped and reported, the remaining ones are inserted
+     * using JDBC batching.</p>
+     *
+     * @param userId                           The unique identifier (ID) of the user for whom the availabilities are being created.
+     * @param availabilityBatchCreationRequest The DTO containing the list of desired time slots, in the order
+     *                                         in which they should be accepted.
+     * @return An {@code AvailabilityBatchCreationResponse} DTO holding one item per requested slot, in request
+     * order. Each item contains either the persisted availability or the reason it was rejected.
+     */
+    AvailabilityBatchCreationResponse createAvailabilities(Long userId, AvailabilityBatchCreationRequest availabilityBatchCreationRequest);
+
+    /**
+     * Queries one page of availability slots that match the specified criteria.
+     *
+     * <p>This method finds the availability records associated with the given owner ID that fall within
+     * the specified time range and have the designated availability status. The time range query uses
+     * overlap logic (existing slot intersects with the query window) rather than strict containment.</p>
+     *
+     * <p>The results are walked in {@code (startDateTime, id)} order using keyset pagination: each page starts
+     * strictly after the position encoded in {@code cursor}, so the cost of a page does not depend on how
+     * many pages precede it.</p>
+     *
+     * <p>When both window bounds are given and the status filter admits {@code FREE} slots, the
+     * owner's recurrence rules are expanded for that window only and their occurrences are merged
+     * into the page they belong to. Occurrences overlapping a stored availability are left out, and occurrences
+     * are returned without an ID but with the ID of the rule they originate from.</p>
      *
      * @param ownerId            The unique identifier of the user (owner) whose availabilities are being queried.
-     * @param startDateTime      The inclusive start time of the query window (the lower bound for the time range check).
-     * @param endDateTime        The inclusive end time of the query window (the upper bound for the time range check).
-     * @param availabilityStatus The status of the availability slots to filter by (e.g., FREE, BUSY).
-     * @return A {@code List} of {@code AvailabilityResponse} DTOs representing the slots that match
-     * all filtering parameters. Returns an empty list if no matching slots are found.
+     * @param startDateTime      The inclusive start time of the query window, or {@code null}.
+     * @param endDateTime        The inclusive end time of the query window, or {@code null}.
+     * @param availabilityStatus The status of the availability slots to filter by, or {@code null}.
+     * @param cursor             The opaque {@code nextCursor} value of the previous page, or {@code null} for the first page.
+     * @param limit              The maximum number of slots in the page.
+     * @return An {@code AvailabilityPageResponse} DTO with the slots of the page and the cursor of the next
+     * page, which is {@code null} when there are no further slots.
+     * @throws InvalidRequestParameterException if {@code cursor} is malformed or {@code limit} is out of range.
+     */
+    AvailabilityPageResponse queryAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus,
+                                                 String cursor, int limit);
+
+    /**
+     * Streams all stored availability slots that match the specified criteria to {@code consumer}.
+     *
+     * <p>Applies the same filters as {@link #queryAvailabilities(Long, Instant, Instant, AvailabilityStatus, String, int)},
+     * but never materializes the result: rows are read from a forward-only database cursor in
+     * {@code (startDateTime, id)} order, mapped and handed over one at a time, so memory usage does not
+     * depend on the size of the calendar. Occurrences of recurrence rules are not expanded here; export
+     * the rules themselves instead.</p>
+     *
+     * @param ownerId            The unique identifier of the user (owner) whose availabilities are being exported.
+     * @param startDateTime      The inclusive start time of the query window, or {@code null}.
+     * @param endDateTime        The inclusive end time of the query window, or {@code null}.
+     * @param availabilityStatus The status of the availability slots to filter by, or {@code null}.
+     * @param consumer           Receives every matching slot in order. It is called inside the read transaction.
+     */
+    void streamAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus,
+                              Consumer<AvailabilityResponse> consumer);
+
+    /**
+     * Returns the change version of an owner's calendar.
+     *
+     * <p>The version is a counter that is incremented in the same transaction as every change to the owner's
+     * availabilities or recurrence rules, including bookings. It can be compared with the version of an earlier
+     * query to tell whether the results may differ, without running the query again. It is read with a single
+     * primary key lookup.</p>
+     *
+     * @param ownerId The unique identifier of the user (owner) whose calendar is being checked.
+     * @return The current version, or {@code 0} if the calendar has never changed.
+     */
+    long getChangeVersion(Long ownerId);
+
+    /**
+     * Computes the free/busy view of an owner's calendar within the given window.
+     *
+     * <p>The stored availabilities overlapping the window are read in start order with a single
+     * query that returns only their bounds and status. Occurrences of the owner's recurrence rules
+     * that are not overridden by a stored availability count as free time. In one pass over the
+     * merged, sorted slots, overlapping or adjacent slots of the same status are coalesced and
+     * clipped to the window, so the response contains a handful of intervals instead of every
+     * individual slot.</p>
+     *
+     * @param ownerId       The unique identifier of the user (owner) whose calendar is being summarized.
+     * @param startDateTime The inclusive start of the window.
+     * @param endDateTime   The exclusive end of the window.
+     * @return A {@code FreeBusyResponse} holding the disjoint free and busy intervals, each list ordered by start time.
+     * @throws InvalidRequestParameterException if the window does not end after it starts or is longer than the supported maximum.
+     */
+    FreeBusyResponse getFreeBusy(Long ownerId, Instant startDateTime, Instant endDateTime);
+
+    /**
+     * Finds the earliest time windows in which the given participants are free at the same time.
+     *
+     * <p>Participants are resolved by email, then the stored availabilities of all of them are loaded
+     * with a single query and their recurrence rules are expanded together. The free time of each
+     * participant (FREE slots and occurrences not overridden by a stored slot) is coalesced and clipped
+     * to the search window, and the participants are intersected with one k-way sweep over their
+     * interval boundaries.</p>
+     *
+     * @param commonSlotSearchRequest The DTO holding the participant emails, the search window, the minimum
+     *                                window duration, the optional quorum (all participants by default) and
+     *                                the optional maximum number of windows (10 by default).
+     * @return A {@code List} of {@code CommonSlotResponse} DTOs ordered by start time. Each window is maximal:
+     * it lasts as long as at least the quorum of participants stays free.
+     * @throws ResourceNotFoundException        if any of the emails does not belong to a user.
+     * @throws InvalidRequestParameterException if the window is invalid or the quorum exceeds the number of participants.
+     */
+    List<CommonSlotResponse> findCommonSlots(CommonSlotSearchRequest commonSlotSearchRequest);
+
+    /**
+     * Counts, for every bucket of the window, how many of the given owners are free during the whole bucket.
+     *
+     * <p>The free time of the owners is assembled as for {@link #findCommonSlots(CommonSlotSearchRequest)}, with
+     * one query for the stored availabilities of all owners and one expansion of their recurrence rules. Each
+     * owner's free time is then rasterized into a bitset with one bit per bucket, and the bitsets are added up
+     * in parallel with word-level operations, 64 buckets at a time.</p>
+     *
+     * @param ownerIds      The unique identifiers of the users (owners) to include. Unknown IDs count as never free.
+     * @param startDateTime The start of the first bucket.
+     * @param endDateTime   The end of the last bucket; the last bucket is shorter when the window is not a multiple of the bucket size.
+     * @param bucketMinutes The length of a bucket in minutes.
+     * @return An {@code AvailabilityHeatmapResponse} holding the number of free owners per bucket, in time order.
+     * @throws InvalidRequestParameterException if the window is invalid, there are no or too many owners, or the
+     *                                          bucket size is not positive or yields too many buckets.
      */
-    List<AvailabilityResponse> queryAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus);
+    AvailabilityHeatmapResponse getHeatmap(Collection<Long> ownerIds, Instant startDateTime, Instant endDateTime, int bucketMinutes);
 
     /**
      * Deletes a specific availability entry identified by its ID, provided the request
@@ -69,7 +196,7 @@ public interface AvailabilityService {
      *
      * <p>This method performs a partial or full update of an existing availability slot.
      * It strictly validates that the availability belongs to the specified owner
-     * and checks for any new time conflicts before persisting changes. It also
+     * and checks for any new time conflicts while persisting changes. It also
      * ensures that the ID in the request path matches the ID of the resource
      * being updated.</p>
      *
@@ -1,13 +1,15 @@
 package com.codingchallenge.minidoodlev1.service;
 
 import com.codingchallenge.minidoodlev1.data.dto.MeetingCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingPageResponse;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingParticipantsRequest;
 import com.codingchallenge.minidoodlev1.data.dto.MeetingResponse;
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
 import com.codingchallenge.minidoodlev1.data.entity.Meeting;
 import com.codingchallenge.minidoodlev1.data.entity.User;
 import com.codingchallenge.minidoodlev1.exception.AvailabilityBookedException;
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
 import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
-import jakarta.persistence.OptimisticLockException;
 
 public interface MeetingService {
 
@@ -15,17 +17,24 @@ public interface MeetingService {
      * Creates a new meeting by consuming a previously marked 'FREE' availability slot and
      * assigning participants.
      *
-     * <p>This method performs the following critical steps within a single transaction:</p>
+     * <p>Concurrent requests for the same slot are serialized within this instance before any
+     * database connection is taken: one request books while the others wait on a bounded, first come
+     * first served waitlist. Once the slot is booked every waiting request fails without reaching the
+     * database; if the booking fails for another reason the next waiting request takes its turn.</p>
+     *
+     * <p>The booking itself performs the following critical steps within a single transaction:</p>
      * <ol>
-     * <li>Validates the existence of the {@code organizerId} and fetches the {@link User} entity.</li>
-     * <li>Verifies that the specified {@code availabilityId} exists
-     * and is currently marked as {@code FREE}.</li>
-     * <li>Updates the found {@link Availability} slot's status to {@code BUSY} to reserve it.</li>
-     * <li>Fetches all valid {@link User} entities corresponding to the participant emails
-     * and adds the organizer to the list of participants.</li>
-     * <li>Saves the new {@link Meeting} record to the database.</li>
-     * <li>Saves the updated {@link Availability} status. This step uses optimistic locking
-     * to prevent concurrent double-booking of the same slot.</li>
+     * <li>Claims the slot before doing any other work. A stored {@code availabilityId} is switched
+     * from {@code FREE} to {@code BUSY} with a single conditional {@code UPDATE ... RETURNING}, so of
+     * several concurrent requests exactly one succeeds and the others fail immediately. When the
+     * request references an occurrence of a recurrence rule instead ({@code ruleId} and
+     * {@code occurrenceStartDateTime}), the occurrence is resolved from the rule and materialized
+     * as a new {@code BUSY} availability row.</li>
+     * <li>Fetches the organizer by ID and all {@link User} entities corresponding to the participant emails
+     * by natural ID. Both are served from the second-level cache, so only users not seen before are read
+     * from the database; the organizer is always a participant.</li>
+     * <li>Saves the new {@link Meeting} record. The meeting and its participant rows are written with
+     * JDBC batching when the transaction commits.</li>
      * </ol>
      *
      * @param organizerId The unique identifier of the user creating and owning the meeting.
@@ -33,12 +42,71 @@ public interface MeetingService {
      * availability slot to consume, and the list of participant emails.
      * @return A {@link MeetingResponse} DTO representing the newly created and saved meeting.
      * @throws ResourceNotFoundException if the specified {@code organizerId} does not exist,
-     * or if the {@code availabilityId} does not exist, is not owned by the organizer,
-     * or is already marked as {@code BUSY}.
-     * @throws AvailabilityBookedException if the {@link Availability} slot was successfully fetched
-     * and updated in the current transaction, but the final save fails due to an
-     * {@link OptimisticLockException}, indicating the slot was concurrently modified
-     * and booked by another user (race condition).
+     * or if the {@code availabilityId} does not exist, or if the rule has no occurrence at the requested time.
+     * @throws AvailabilityBookedException if the {@link Availability} slot is already {@code BUSY},
+     * including when a concurrent request claimed it first, or if the requested rule occurrence is already
+     * overridden by a stored availability or was materialized concurrently, or if too many requests are
+     * already waiting for the same slot.
      */
     MeetingResponse createMeeting(Long organizerId, MeetingCreationRequest meetingCreationRequest);
+
+    /**
+     * Retrieves a single meeting together with its organizer and participants.
+     *
+     * <p>The meeting is loaded through the {@code meeting-with-organizer-and-participants} entity graph,
+     * so the organizer and all participants come back with the meeting in a single query.</p>
+     *
+     * @param meetingId The unique identifier of the meeting.
+     * @return A {@link MeetingResponse} DTO representing the meeting.
+     * @throws ResourceNotFoundException if no meeting exists with the given {@code meetingId}.
+     */
+    MeetingResponse getMeeting(Long meetingId);
+
+    /**
+     * Lists the meetings a user takes part in, one page at a time ordered by meeting ID.
+     *
+     * <p>A page is read with two queries regardless of its size: one for the meetings and their organizers,
+     * bounded by {@code limit} in the database, and one loading the participants of all meetings of the page.
+     * Participant lists are deliberately not joined into the first query, since a collection fetch would
+     * repeat every meeting row per participant and force the limit to be applied in memory.</p>
+     *
+     * @param participantId The unique identifier of the participant; organizers are participants of their meetings.
+     * @param cursor The opaque cursor returned as {@code nextCursor} by the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of meetings in the page.
+     * @return A {@link MeetingPageResponse} DTO holding the meetings of the page and the cursor of the next page,
+     * which is {@code null} on the last page.
+     * @throws InvalidRequestParameterException if the cursor is malformed or the limit is out of range.
+     */
+    MeetingPageResponse queryMeetings(Long participantId, String cursor, int limit);
+
+    /**
+     * Adds participants to a meeting organized by the requesting user.
+     *
+     * <p>The participants are resolved by email through the user cache and inserted with a single set-based
+     * {@code INSERT ... SELECT} statement, regardless of how many participants the meeting already has. Users
+     * that already take part in the meeting are skipped.</p>
+     *
+     * @param organizerId The unique identifier of the user performing the request, who must organize the meeting.
+     * @param meetingId The unique identifier of the meeting.
+     * @param meetingParticipantsRequest The DTO containing the emails of the users to add.
+     * @return A {@link MeetingResponse} DTO representing the meeting with its updated participants.
+     * @throws ResourceNotFoundException if the meeting does not exist or is not organized by {@code organizerId},
+     * or if any of the emails does not belong to a user.
+     */
+    MeetingResponse addParticipants(Long organizerId, Long meetingId, MeetingParticipantsRequest meetingParticipantsRequest);
+
+    /**
+     * Removes participants from a meeting organized by the requesting user.
+     *
+     * <p>The participants are removed with a single set-based {@code DELETE} statement; the rest of the
+     * participant list is left untouched. Emails of users that do not take part in the meeting are ignored,
+     * and the organizer is never removed.</p>
+     *
+     * @param organizerId The unique identifier of the user performing the request, who must organize the meeting.
+     * @param meetingId The unique identifier of the meeting.
+     * @param meetingParticipantsRequest The DTO containing the emails of the users to remove.
+     * @return A {@link MeetingResponse} DTO representing the meeting with its updated participants.
+     * @throws ResourceNotFoundException if the meeting does not exist or is not organized by {@code organizerId}.
+     */
+    MeetingResponse removeParticipants(Long organizerId, Long meetingId, MeetingParticipantsRequest meetingParticipantsRequest);
 }
@@ -0,0 +1,26 @@
+package com.codingchallenge.minidoodlev1.service;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+public interface ReactiveAvailabilityService {
+    /**
+     * Streams the stored availability slots that match the specified criteria without blocking a thread.
+     *
+     * <p>Applies the same filters as {@link AvailabilityService#queryAvailabilities(Long, Instant, Instant, AvailabilityStatus, String, int)}
+     * through a non-blocking R2DBC connection, and emits the slots in {@code (startDateTime, id)} order as they
+     * arrive from the database. Demand is propagated to the query: rows are only fetched as fast as the subscriber
+     * consumes them, and neither a request thread nor a JDBC connection is held in the meantime. Like the export,
+     * occurrences of recurrence rules are not expanded here.</p>
+     *
+     * @param ownerId            The unique identifier of the user (owner) whose availabilities are being queried.
+     * @param startDateTime      The inclusive start time of the query window, or {@code null}.
+     * @param endDateTime        The inclusive end time of the query window, or {@code null}.
+     * @param availabilityStatus The status of the availability slots to filter by, or {@code null}.
+     * @return A {@code Flux} of {@code AvailabilityResponse} DTOs, which completes empty if no slots match.
+     */
+    Flux<AvailabilityResponse> queryAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus);
+}
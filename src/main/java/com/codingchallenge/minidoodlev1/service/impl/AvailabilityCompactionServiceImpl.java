@@ -0,0 +1,71 @@
+package com.codingchallenge.minidoodlev1.service.impl;
+
+import com.codingchallenge.minidoodlev1.config.AvailabilityCompactionProperties;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
+import com.codingchallenge.minidoodlev1.service.AvailabilityCompactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityCompactionServiceImpl implements AvailabilityCompactionService {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final OwnerChangeVersionRepository ownerChangeVersionRepository;
+    private final AvailabilityCompactionProperties availabilityCompactionProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findCompactableOwners(Long afterOwnerId, int limit) {
+        Instant now = Instant.now();
+        return availabilityRepository.findCompactableOwnerIds(afterOwnerId, now, now.minus(Availability.MAX_DURATION), limit);
+    }
+
+    @Override
+    @Transactional
+    public int compact(Long ownerId) {
+        // An owner whose availabilities are being inserted or moved is left for the next run.
+        if (!availabilityRepository.tryLockOwner(ownerId)) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        List<Availability> availabilities = availabilityRepository.lockForCompaction(ownerId, AvailabilityStatus.FREE, now,
+                now.minus(Availability.MAX_DURATION), Limit.of(availabilityCompactionProperties.maxRowsPerOwner()));
+        Map<Availability, Instant> mergedEnds = new LinkedHashMap<>();
+        List<Availability> absorbed = new ArrayList<>();
+        Availability first = null;
+        Instant end = null;
+        for (Availability availability : availabilities) {
+            if (first != null && availability.getStartDateTime().equals(end)
+                    && !availability.getEndDateTime().isAfter(first.getStartDateTime().plus(Availability.MAX_DURATION))) {
+                absorbed.add(availability);
+                end = availability.getEndDateTime();
+                mergedEnds.put(first, end);
+            } else {
+                first = availability;
+                end = availability.getEndDateTime();
+            }
+        }
+        if (absorbed.isEmpty()) {
+            return 0;
+        }
+        // Deleted first, as the overlap trigger would reject the extended rows while the absorbed ones exist.
+        availabilityRepository.deleteAll(absorbed);
+        availabilityRepository.flush();
+        mergedEnds.forEach(Availability::setEndDateTime);
+        // The time covered is unchanged, so the interval index stays valid, but the listed rows change.
+        ownerChangeVersionRepository.increment(ownerId);
+        return absorbed.size();
+    }
+}
@@ -0,0 +1,112 @@
+package com.codingchallenge.minidoodlev1.service.impl;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleResponse;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.entity.AvailabilityRule;
+import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityRuleEntityMapper;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityRuleResponseMapper;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRuleRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
+import com.codingchallenge.minidoodlev1.service.AvailabilityRuleService;
+import com.codingchallenge.minidoodlev1.utils.AvailabilityRuleOccurrences;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
+
+    private static final Duration RULE_CONFLICT_HORIZON = Duration.ofDays(368);
+
+    private final AvailabilityRuleRepository availabilityRuleRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final OwnerChangeVersionRepository ownerChangeVersionRepository;
+    private final AvailabilityRuleEntityMapper availabilityRuleEntityMapper;
+    private final AvailabilityRuleResponseMapper availabilityRuleResponseMapper;
+
+    @Override
+    @Transactional
+    public AvailabilityRuleResponse createAvailabilityRule(Long ownerId, AvailabilityRuleCreationRequest availabilityRuleCreationRequest) {
+        AvailabilityRule newRule = availabilityRuleEntityMapper.toEntity(availabilityRuleCreationRequest);
+        newRule.setOwnerId(ownerId);
+        // Concurrent creates for the same owner would otherwise both pass the check and store overlapping rules.
+        availabilityRepository.lockOwner(ownerId);
+        if (availabilityRuleRepository.findAllByOwnerIdOrderByIdAsc(ownerId).stream().anyMatch(existingRule -> conflicts(existingRule, newRule))) {
+            throw new AvailabilityConflictException(ErrorMessages.AVAILABILITY_RULE_CONFLICT_MESSAGE);
+        }
+        AvailabilityRule savedRule = availabilityRuleRepository.save(newRule);
+        ownerChangeVersionRepository.increment(ownerId);
+        return availabilityRuleResponseMapper.toResponse(savedRule);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilityRuleResponse> getAvailabilityRules(Long ownerId) {
+        return availabilityRuleRepository.findAllByOwnerIdOrderByIdAsc(ownerId).stream()
+                .map(availabilityRuleResponseMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteAvailabilityRule(Long ownerId, Long ruleId) {
+        if (availabilityRuleRepository.existsByIdAndOwnerId(ruleId, ownerId)) {
+            availabilityRuleRepository.deleteById(ruleId);
+            ownerChangeVersionRepository.increment(ownerId);
+            return;
+        }
+        throw new ResourceNotFoundException(String.format(ErrorMessages.AVAILABILITY_RULE_NOT_FOUND_MESSAGE, ruleId));
+    }
+
+    @Override
+    public List<Availability> findOccurrences(Collection<Long> ownerIds, Instant from, Instant to) {
+        return availabilityRuleRepository.findAllByOwnerIdIn(ownerIds).stream()
+                .flatMap(rule -> AvailabilityRuleOccurrences.expand(rule, from, to).stream())
+                .sorted(Comparator.comparing(Availability::getStartDateTime))
+                .toList();
+    }
+
+    @Override
+    public Availability findOccurrence(Long ruleId, Instant startDateTime) {
+        AvailabilityRule rule = availabilityRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.AVAILABILITY_RULE_NOT_FOUND_MESSAGE, ruleId)));
+        return AvailabilityRuleOccurrences.occurrenceStartingAt(rule, startDateTime)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.AVAILABILITY_OCCURRENCE_NOT_FOUND_MESSAGE, ruleId, startDateTime)));
+    }
+
+    private static boolean conflicts(AvailabilityRule existingRule, AvailabilityRule newRule) {
+        LocalDate laterStartDate = existingRule.getStartDate().isAfter(newRule.getStartDate()) ? existingRule.getStartDate() : newRule.getStartDate();
+        Instant from = laterStartDate.minusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = from.plus(RULE_CONFLICT_HORIZON);
+        List<Availability> existingOccurrences = AvailabilityRuleOccurrences.expand(existingRule, from, to);
+        List<Availability> newOccurrences = AvailabilityRuleOccurrences.expand(newRule, from, to);
+        int existingIndex = 0;
+        int newIndex = 0;
+        while (existingIndex < existingOccurrences.size() && newIndex < newOccurrences.size()) {
+            Availability existingOccurrence = existingOccurrences.get(existingIndex);
+            Availability newOccurrence = newOccurrences.get(newIndex);
+            if (!existingOccurrence.getEndDateTime().isAfter(newOccurrence.getStartDateTime())) {
+                existingIndex++;
+            } else if (!newOccurrence.getEndDateTime().isAfter(existingOccurrence.getStartDateTime())) {
+                newIndex++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,57 +1,250 @@
 package com.codingchallenge.minidoodlev1.service.impl;
 
+import com.codingchallenge.minidoodlev1.annotation.DatabaseBulkheaded;
+import com.codingchallenge.minidoodlev1.cache.AvailabilityIntervalIndex;
+import com.codingchallenge.minidoodlev1.concurrency.DatabaseBulkhead.Access;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchItemResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCursor;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityHeatmapResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPageResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityUpdateRequest;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotResponse;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotSearchRequest;
+import com.codingchallenge.minidoodlev1.data.dto.FreeBusyInterval;
+import com.codingchallenge.minidoodlev1.data.dto.FreeBusyResponse;
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.entity.User;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityInterval;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityStatusInterval;
 import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
 import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
 import com.codingchallenge.minidoodlev1.mapper.AvailabilityEntityMapper;
 import com.codingchallenge.minidoodlev1.mapper.AvailabilityResponseMapper;
 import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
+import com.codingchallenge.minidoodlev1.repository.UserRepository;
+import com.codingchallenge.minidoodlev1.service.AvailabilityRuleService;
 import com.codingchallenge.minidoodlev1.service.AvailabilityService;
 import com.codingchallenge.minidoodlev1.specification.AvailabilitySpecification;
+import com.codingchallenge.minidoodlev1.utils.AvailabilityHeatmap;
+import com.codingchallenge.minidoodlev1.utils.AvailabilityIntervals;
+import com.codingchallenge.minidoodlev1.utils.CommonSlots;
+import com.codingchallenge.minidoodlev1.utils.ConstraintViolations;
 import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AvailabilityServiceImpl implements AvailabilityService {
 
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final Duration MAX_SEARCH_WINDOW = Duration.ofDays(366);
+    private static final int DEFAULT_COMMON_SLOT_LIMIT = 10;
+    private static final int MAX_HEATMAP_OWNERS = 1000;
+    private static final int MAX_HEATMAP_BUCKETS = 10_000;
+    private static final Sort PAGE_SORT = Sort.by("startDateTime", "id");
+    private static final Comparator<Availability> PAGE_ORDER = Comparator.comparing(Availability::getStartDateTime)
+            .thenComparingLong(availability -> Objects.isNull(availability.getId()) ? 0L : availability.getId());
+
     private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityIntervalIndex availabilityIntervalIndex;
+    private final AvailabilityRuleService availabilityRuleService;
+    private final UserRepository userRepository;
+    private final OwnerChangeVersionRepository ownerChangeVersionRepository;
     private final AvailabilityEntityMapper availabilityEntityMapper;
     private final AvailabilityResponseMapper availabilityResponseMapper;
 
     @Override
     @Transactional
+    @DatabaseBulkheaded(Access.WRITE)
     public AvailabilityResponse createAvailability(Long userId, AvailabilityCreationRequest availabilityCreationRequest) {
         Instant startDateTime = availabilityCreationRequest.startDateTime();
         Instant endDateTime = availabilityCreationRequest.endDateTime();
-        if (availabilityRepository.existsByOwnerIdAndStartDateTimeBeforeAndEndDateTimeAfter(userId, endDateTime, startDateTime)) {
+        // Held until commit, so no rule can be created between the occurrence check and the insert.
+        availabilityRepository.lockOwner(userId);
+        if (overlapsRuleOccurrence(userId, startDateTime, endDateTime)) {
             throw new AvailabilityConflictException(ErrorMessages.AVAILABILITY_CONFLICT_MESSAGE);
         }
         Availability newAvailability = availabilityEntityMapper.toEntity(availabilityCreationRequest);
         newAvailability.setOwnerId(userId);
         newAvailability.setAvailabilityStatus(AvailabilityStatus.FREE);
-        return availabilityResponseMapper.toResponse(availabilityRepository.save(newAvailability));
+        Availability savedAvailability = saveWithoutOverlap(newAvailability);
+        availabilityIntervalIndex.recordInserted(userId, startDateTime, endDateTime);
+        ownerChangeVersionRepository.increment(userId);
+        return availabilityResponseMapper.toResponse(savedAvailability);
+    }
+
+    @Override
+    @Transactional
+    @DatabaseBulkheaded(Access.WRITE)
+    public AvailabilityBatchCreationResponse createAvailabilities(Long userId, AvailabilityBatchCreationRequest availabilityBatchCreationRequest) {
+        List<AvailabilityCreationRequest> requests = availabilityBatchCreationRequest.availabilities();
+        Instant batchStart = requests.stream().map(AvailabilityCreationRequest::startDateTime).min(Comparator.naturalOrder()).orElseThrow();
+        Instant batchEnd = requests.stream().map(AvailabilityCreationRequest::endDateTime).max(Comparator.naturalOrder()).orElseThrow();
+        availabilityRepository.lockOwner(userId);
+        NavigableMap<Instant, Instant> occupied = occupiedIntervals(userId, batchStart, batchEnd);
+
+        Availability[] accepted = new Availability[requests.size()];
+        List<Availability> newAvailabilities = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            AvailabilityCreationRequest request = requests.get(index);
+            if (AvailabilityIntervals.overlaps(occupied, request.startDateTime(), request.endDateTime())) {
+                continue;
+            }
+            occupied.put(request.startDateTime(), request.endDateTime());
+            Availability newAvailability = availabilityEntityMapper.toEntity(request);
+            newAvailability.setOwnerId(userId);
+            newAvailability.setAvailabilityStatus(AvailabilityStatus.FREE);
+            accepted[index] = newAvailability;
+            newAvailabilities.add(newAvailability);
+        }
+        availabilityRepository.saveAll(newAvailabilities);
+        newAvailabilities.forEach(availability ->
+                availabilityIntervalIndex.recordInserted(userId, availability.getStartDateTime(), availability.getEndDateTime()));
+        if (!newAvailabilities.isEmpty()) {
+            ownerChangeVersionRepository.increment(userId);
+        }
+
+        List<AvailabilityBatchItemResponse> items = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            items.add(accepted[index] == null
+                    ? new AvailabilityBatchItemResponse(index, null, ErrorMessages.AVAILABILITY_CONFLICT_MESSAGE)
+                    : new AvailabilityBatchItemResponse(index, availabilityResponseMapper.toResponse(accepted[index]), null));
+        }
+        return new AvailabilityBatchCreationResponse(newAvailabilities.size(), requests.size() - newAvailabilities.size(), items);
     }
 
     @Override
-    public List<AvailabilityResponse> queryAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus) {
-        return availabilityRepository.findAll(
-                        Specification.where(AvailabilitySpecification.ownerId(ownerId))
-                                .and(AvailabilitySpecification.availabilityStatus(availabilityStatus))
-                                .and(AvailabilitySpecification.overlapping(startDateTime, endDateTime))
-                                .and(AvailabilitySpecification.orderByStartDateTimeAsc)).stream()
+    @Transactional(readOnly = true)
+    @DatabaseBulkheaded(Access.READ)
+    public AvailabilityPageResponse queryAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus,
+                                                        String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_LIMIT_MESSAGE, MAX_PAGE_LIMIT));
+        }
+        AvailabilityCursor after = Objects.isNull(cursor) ? null : AvailabilityCursor.decode(cursor);
+        List<Availability> availabilities = availabilityRepository.findBy(
+                Specification.where(AvailabilitySpecification.ownerId(ownerId))
+                        .and(AvailabilitySpecification.availabilityStatus(availabilityStatus))
+                        .and(AvailabilitySpecification.overlapping(startDateTime, endDateTime))
+                        .and(AvailabilitySpecification.after(after)),
+                query -> query.sortBy(PAGE_SORT).limit(limit + 1).all());
+        List<Availability> occurrences = Objects.isNull(startDateTime) || Objects.isNull(endDateTime) || availabilityStatus == AvailabilityStatus.BUSY
+                ? List.of()
+                : pageOccurrences(ownerId, startDateTime, endDateTime, after,
+                availabilities.size() > limit ? availabilities.get(limit).getStartDateTime() : endDateTime);
+        List<AvailabilityResponse> items = Stream.concat(availabilities.stream(), occurrences.stream())
+                .sorted(PAGE_ORDER)
+                .limit(limit + 1L)
                 .map(availabilityResponseMapper::toResponse)
                 .toList();
+        if (items.size() <= limit) {
+            return new AvailabilityPageResponse(items, null);
+        }
+        List<AvailabilityResponse> page = items.subList(0, limit);
+        return new AvailabilityPageResponse(page, AvailabilityCursor.of(page.get(limit - 1)).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus,
+                                     Consumer<AvailabilityResponse> consumer) {
+        availabilityRepository.scrollAll(
+                Specification.where(AvailabilitySpecification.ownerId(ownerId))
+                        .and(AvailabilitySpecification.availabilityStatus(availabilityStatus))
+                        .and(AvailabilitySpecification.overlapping(startDateTime, endDateTime)),
+                PAGE_SORT,
+                EXPORT_FETCH_SIZE,
+                availability -> consumer.accept(availabilityResponseMapper.toResponse(availability)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getChangeVersion(Long ownerId) {
+        return ownerChangeVersionRepository.findVersionByOwnerId(ownerId).orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FreeBusyResponse getFreeBusy(Long ownerId, Instant startDateTime, Instant endDateTime) {
+        validateSearchWindow(startDateTime, endDateTime);
+        List<AvailabilityStatusInterval> intervals = withVisibleOccurrences(
+                availabilityRepository.findStatusIntervals(List.of(ownerId), startDateTime, endDateTime),
+                availabilityRuleService.findOccurrences(List.of(ownerId), startDateTime, endDateTime));
+
+        List<FreeBusyInterval> free = new ArrayList<>();
+        List<FreeBusyInterval> busy = new ArrayList<>();
+        for (AvailabilityStatusInterval interval : intervals) {
+            Instant start = interval.startDateTime().isBefore(startDateTime) ? startDateTime : interval.startDateTime();
+            Instant end = interval.endDateTime().isAfter(endDateTime) ? endDateTime : interval.endDateTime();
+            appendCoalesced(interval.availabilityStatus() == AvailabilityStatus.BUSY ? busy : free, start, end);
+        }
+        return new FreeBusyResponse(ownerId, startDateTime, endDateTime, free, busy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommonSlotResponse> findCommonSlots(CommonSlotSearchRequest commonSlotSearchRequest) {
+        Instant startDateTime = commonSlotSearchRequest.startDateTime();
+        Instant endDateTime = commonSlotSearchRequest.endDateTime();
+        validateSearchWindow(startDateTime, endDateTime);
+        Set<String> emails = new HashSet<>(commonSlotSearchRequest.participantEmails());
+        int quorum = Objects.isNull(commonSlotSearchRequest.quorum()) ? emails.size() : commonSlotSearchRequest.quorum();
+        if (quorum > emails.size()) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_QUORUM_MESSAGE, emails.size()));
+        }
+        List<User> participants = userRepository.findAllByNaturalIdIn(emails);
+        if (participants.size() < emails.size()) {
+            participants.stream().map(User::getEmail).toList().forEach(emails::remove);
+            throw new ResourceNotFoundException(String.format(ErrorMessages.USERS_NOT_FOUND_BY_EMAIL_MESSAGE, emails));
+        }
+
+        List<Long> ownerIds = participants.stream().map(User::getId).toList();
+        return CommonSlots.find(freeIntervals(ownerIds, startDateTime, endDateTime), quorum, Duration.ofMinutes(commonSlotSearchRequest.minimumDurationMinutes()),
+                Objects.isNull(commonSlotSearchRequest.limit()) ? DEFAULT_COMMON_SLOT_LIMIT : commonSlotSearchRequest.limit());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AvailabilityHeatmapResponse getHeatmap(Collection<Long> ownerIds, Instant startDateTime, Instant endDateTime, int bucketMinutes) {
+        validateSearchWindow(startDateTime, endDateTime);
+        List<Long> distinctOwnerIds = ownerIds.stream().distinct().toList();
+        if (distinctOwnerIds.isEmpty() || distinctOwnerIds.size() > MAX_HEATMAP_OWNERS) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_HEATMAP_OWNERS_MESSAGE, MAX_HEATMAP_OWNERS));
+        }
+        Duration bucket = Duration.ofMinutes(bucketMinutes);
+        if (bucketMinutes < 1 || AvailabilityHeatmap.bucketCount(startDateTime, endDateTime, bucket) > MAX_HEATMAP_BUCKETS) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_HEATMAP_BUCKETS_MESSAGE, MAX_HEATMAP_BUCKETS));
+        }
+        int[] freeCounts = AvailabilityHeatmap.count(freeIntervals(distinctOwnerIds, startDateTime, endDateTime), startDateTime, endDateTime, bucket);
+        return new AvailabilityHeatmapResponse(startDateTime, endDateTime, bucketMinutes, distinctOwnerIds.size(), freeCounts);
     }
 
     @Override
@@ -59,6 +252,8 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     public void deleteAvailability(Long ownerId, Long availabilityId) {
         if (availabilityRepository.existsByIdAndOwnerId(availabilityId, ownerId)) {
             availabilityRepository.deleteById(availabilityId);
+            availabilityIntervalIndex.invalidate(ownerId);
+            ownerChangeVersionRepository.increment(ownerId);
             return;
         }
         throw new ResourceNotFoundException(String.format(ErrorMessages.AVAILABILITY_NOT_FOUND_MESSAGE, availabilityId));
@@ -71,13 +266,137 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.AVAILABILITY_NOT_FOUND_MESSAGE, availabilityId)));
         Instant startDateTime = availabilityUpdateRequest.startDateTime();
         Instant endDateTime = availabilityUpdateRequest.endDateTime();
-        if (availabilityRepository.existsByOwnerIdAndStartDateTimeBeforeAndEndDateTimeAfter(ownerId, endDateTime, startDateTime)) {
+        availabilityRepository.lockOwner(ownerId);
+        if (overlapsRuleOccurrence(ownerId, startDateTime, endDateTime)) {
             throw new AvailabilityConflictException(ErrorMessages.AVAILABILITY_CONFLICT_MESSAGE);
         }
         availability.setStartDateTime(startDateTime);
         availability.setEndDateTime(endDateTime);
         availability.setAvailabilityStatus(availabilityUpdateRequest.availabilityStatus());
-        return availabilityResponseMapper.toResponse(availabilityRepository.save(availability));
+        Availability savedAvailability = saveWithoutOverlap(availability);
+        availabilityIntervalIndex.invalidate(ownerId);
+        ownerChangeVersionRepository.increment(ownerId);
+        return availabilityResponseMapper.toResponse(savedAvailability);
+    }
+
+    /**
+     * Writes the availability immediately, so an overlap with another stored availability of the owner is
+     * reported by the overlap trigger within this call, atomically with the insert or update.
+     */
+    private Availability saveWithoutOverlap(Availability availability) {
+        try {
+            return availabilityRepository.saveAndFlush(availability);
+        } catch (DataIntegrityViolationException exception) {
+            if (ConstraintViolations.isAvailabilityOverlap(exception)) {
+                throw new AvailabilityConflictException(ErrorMessages.AVAILABILITY_CONFLICT_MESSAGE);
+            }
+            throw exception;
+        }
+    }
+
+    private boolean overlapsRuleOccurrence(Long ownerId, Instant startDateTime, Instant endDateTime) {
+        return !withoutOverridden(ownerId, availabilityRuleService.findOccurrences(List.of(ownerId), startDateTime, endDateTime)).isEmpty();
     }
 
+    /**
+     * Occurrences that sort after {@code after} and not after {@code upperBound}, the start of the first stored
+     * row that did not fit into the page. Only these can appear in the page, so only they are expanded.
+     */
+    private List<Availability> pageOccurrences(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityCursor after, Instant upperBound) {
+        Instant from = Objects.isNull(after) || after.startDateTime().isBefore(startDateTime) ? startDateTime : after.startDateTime();
+        Instant to = upperBound.isBefore(endDateTime) ? upperBound.plusNanos(1) : endDateTime;
+        List<Availability> occurrences = availabilityRuleService.findOccurrences(List.of(ownerId), from, to).stream()
+                .filter(occurrence -> Objects.isNull(after) || occurrence.getStartDateTime().isAfter(after.startDateTime()))
+                .toList();
+        return withoutOverridden(ownerId, occurrences);
+    }
+
+    /**
+     * Drops the occurrences that a stored row of the owner overlaps, reading the rows of the whole span of the
+     * occurrences with a single query.
+     */
+    private List<Availability> withoutOverridden(Long ownerId, List<Availability> occurrences) {
+        if (occurrences.isEmpty()) {
+            return occurrences;
+        }
+        Instant occurrencesEnd = occurrences.stream().map(Availability::getEndDateTime).max(Comparator.naturalOrder()).orElseThrow();
+        NavigableMap<Instant, Instant> occupied = AvailabilityIntervals.coalesce(availabilityRepository
+                .findOverlappingIntervals(ownerId, occurrences.getFirst().getStartDateTime(), occurrencesEnd));
+        return occurrences.stream()
+                .filter(occurrence -> !AvailabilityIntervals.overlaps(occupied, occurrence.getStartDateTime(), occurrence.getEndDateTime()))
+                .toList();
+    }
+
+    private static void validateSearchWindow(Instant startDateTime, Instant endDateTime) {
+        if (!endDateTime.isAfter(startDateTime) || Duration.between(startDateTime, endDateTime).compareTo(MAX_SEARCH_WINDOW) > 0) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_WINDOW_MESSAGE, MAX_SEARCH_WINDOW.toDays()));
+        }
+    }
+
+    /**
+     * The free time of every owner within the window, clipped to it: FREE slots and the occurrences not overridden
+     * by a stored slot. Stored slots of all owners are read with one query and their rules are expanded together.
+     */
+    private List<NavigableMap<Instant, Instant>> freeIntervals(List<Long> ownerIds, Instant startDateTime, Instant endDateTime) {
+        Map<Long, List<AvailabilityStatusInterval>> intervalsByOwner = availabilityRepository.findStatusIntervals(ownerIds, startDateTime, endDateTime).stream()
+                .collect(Collectors.groupingBy(AvailabilityStatusInterval::ownerId));
+        Map<Long, List<Availability>> occurrencesByOwner = availabilityRuleService.findOccurrences(ownerIds, startDateTime, endDateTime).stream()
+                .collect(Collectors.groupingBy(Availability::getOwnerId));
+        return ownerIds.stream()
+                .map(ownerId -> withVisibleOccurrences(
+                        intervalsByOwner.getOrDefault(ownerId, List.of()), occurrencesByOwner.getOrDefault(ownerId, List.of())).stream()
+                        .filter(interval -> interval.availabilityStatus() == AvailabilityStatus.FREE)
+                        .map(interval -> new AvailabilityInterval(null,
+                                interval.startDateTime().isBefore(startDateTime) ? startDateTime : interval.startDateTime(),
+                                interval.endDateTime().isAfter(endDateTime) ? endDateTime : interval.endDateTime()))
+                        .toList())
+                .map(AvailabilityIntervals::coalesce)
+                .toList();
+    }
+
+    /**
+     * Adds the occurrences not overridden by a stored slot of one owner to that owner's stored slots, keeping start order.
+     */
+    private static List<AvailabilityStatusInterval> withVisibleOccurrences(List<AvailabilityStatusInterval> intervals, List<Availability> occurrences) {
+        if (occurrences.isEmpty()) {
+            return intervals;
+        }
+        NavigableMap<Instant, Instant> occupied = AvailabilityIntervals.coalesce(intervals.stream()
+                .map(interval -> new AvailabilityInterval(null, interval.startDateTime(), interval.endDateTime()))
+                .toList());
+        return Stream.concat(intervals.stream(), occurrences.stream()
+                        .filter(occurrence -> !AvailabilityIntervals.overlaps(occupied, occurrence.getStartDateTime(), occurrence.getEndDateTime()))
+                        .map(occurrence -> new AvailabilityStatusInterval(occurrence.getOwnerId(), occurrence.getStartDateTime(),
+                                occurrence.getEndDateTime(), AvailabilityStatus.FREE)))
+                .sorted(Comparator.comparing(AvailabilityStatusInterval::startDateTime))
+                .toList();
+    }
+
+    /**
+     * Appends {@code [start, end)} to intervals sorted by start, extending the last one instead when the two overlap or touch.
+     */
+    private static void appendCoalesced(List<FreeBusyInterval> intervals, Instant start, Instant end) {
+        FreeBusyInterval last = intervals.isEmpty() ? null : intervals.getLast();
+        if (last == null || start.isAfter(last.endDateTime())) {
+            intervals.add(new FreeBusyInterval(start, end));
+        } else if (end.isAfter(last.endDateTime())) {
+            intervals.set(intervals.size() - 1, new FreeBusyInterval(last.startDateTime(), end));
+        }
+    }
+
+    private NavigableMap<Instant, Instant> occupiedIntervals(Long ownerId, Instant startDateTime, Instant endDateTime) {
+        List<AvailabilityInterval> intervals = availabilityRepository
+                .findOverlappingIntervals(ownerId, startDateTime, endDateTime);
+        NavigableMap<Instant, Instant> occupied = AvailabilityIntervals.coalesce(intervals);
+        List<AvailabilityInterval> visibleOccurrences = availabilityRuleService.findOccurrences(List.of(ownerId), startDateTime, endDateTime).stream()
+                .filter(occurrence -> !AvailabilityIntervals.overlaps(occupied, occurrence.getStartDateTime(), occurrence.getEndDateTime()))
+                .map(occurrence -> new AvailabilityInterval(null, occurrence.getStartDateTime(), occurrence.getEndDateTime()))
+                .toList();
+        if (visibleOccurrences.isEmpty()) {
+            return occupied;
+        }
+        return AvailabilityIntervals.coalesce(Stream.concat(intervals.stream(), visibleOccurrences.stream())
+                .sorted(Comparator.comparing(AvailabilityInterval::startDateTime))
+                .toList());
+    }
 }
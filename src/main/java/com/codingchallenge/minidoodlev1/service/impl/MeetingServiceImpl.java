@@ -1,51 +1,106 @@
 package com.codingchallenge.minidoodlev1.service.impl;
 
+import com.codingchallenge.minidoodlev1.cache.AvailabilityIntervalIndex;
+import com.codingchallenge.minidoodlev1.concurrency.BookingContentionGate;
+import com.codingchallenge.minidoodlev1.concurrency.DatabaseBulkhead;
+import com.codingchallenge.minidoodlev1.concurrency.DatabaseBulkhead.Access;
 import com.codingchallenge.minidoodlev1.data.dto.MeetingCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingCursor;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingPageResponse;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingParticipantsRequest;
 import com.codingchallenge.minidoodlev1.data.dto.MeetingResponse;
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
 import com.codingchallenge.minidoodlev1.data.entity.Meeting;
 import com.codingchallenge.minidoodlev1.data.entity.User;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
 import com.codingchallenge.minidoodlev1.exception.AvailabilityBookedException;
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
 import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
 import com.codingchallenge.minidoodlev1.mapper.MeetingResponseMapper;
 import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
 import com.codingchallenge.minidoodlev1.repository.MeetingRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
 import com.codingchallenge.minidoodlev1.repository.UserRepository;
+import com.codingchallenge.minidoodlev1.service.AvailabilityRuleService;
 import com.codingchallenge.minidoodlev1.service.MeetingService;
-import com.codingchallenge.minidoodlev1.specification.AvailabilitySpecification;
 import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class MeetingServiceImpl implements MeetingService {
 
+    private static final int MAX_PAGE_LIMIT = 100;
+
     private final MeetingRepository meetingRepository;
     private final AvailabilityRepository availabilityRepository;
     private final UserRepository userRepository;
+    private final AvailabilityRuleService availabilityRuleService;
+    private final AvailabilityIntervalIndex availabilityIntervalIndex;
+    private final OwnerChangeVersionRepository ownerChangeVersionRepository;
     private final MeetingResponseMapper meetingResponseMapper;
+    private final BookingContentionGate bookingContentionGate;
+    private final DatabaseBulkhead databaseBulkhead;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public MeetingResponse createMeeting(Long organizerId, MeetingCreationRequest meetingCreationRequest) {
-        Long availabilityId = meetingCreationRequest.availabilityId();
-        Availability availability = availabilityRepository.findOne(
-                        Specification.where(AvailabilitySpecification.availabilityId(availabilityId))
-                                .and(AvailabilitySpecification.availabilityStatus(AvailabilityStatus.FREE)))
-                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.AVAILABILITY_NOT_FOUND_MESSAGE, availabilityId)));
-        availability.setAvailabilityStatus(AvailabilityStatus.BUSY);
+        // Requests for the same slot wait here, before a connection is taken, instead of piling up on its row lock.
+        String slotKey = slotKey(meetingCreationRequest);
+        switch (bookingContentionGate.acquire(slotKey)) {
+            case TAKEN -> throw bookedException(meetingCreationRequest);
+            case CONTENDED -> throw new AvailabilityBookedException(ErrorMessages.AVAILABILITY_CONTENDED_MESSAGE);
+            case GRANTED -> {
+            }
+        }
+        boolean slotTaken = false;
+        try {
+            // The database permit is taken only once the slot is granted, so requests waiting for a slot hold none.
+            MeetingResponse meetingResponse = databaseBulkhead.call(Access.WRITE,
+                    () -> transactionTemplate.execute(status -> bookMeeting(organizerId, meetingCreationRequest)));
+            slotTaken = true;
+            return meetingResponse;
+        } catch (AvailabilityBookedException exception) {
+            slotTaken = true;
+            throw exception;
+        } finally {
+            bookingContentionGate.release(slotKey, slotTaken);
+        }
+    }
 
+    private MeetingResponse bookMeeting(Long organizerId, MeetingCreationRequest meetingCreationRequest) {
+        // The slot is claimed before anything else is read or written, so a request that lost the race fails right away.
+        Long ownerId;
+        if (Objects.nonNull(meetingCreationRequest.availabilityId())) {
+            ownerId = claimAvailability(meetingCreationRequest.availabilityId());
+        } else {
+            Availability occurrence = findBookableOccurrence(meetingCreationRequest.ruleId(), meetingCreationRequest.occurrenceStartDateTime());
+            occurrence.setAvailabilityStatus(AvailabilityStatus.BUSY);
+            materializeOccurrence(occurrence);
+            ownerId = occurrence.getOwnerId();
+        }
+
+        // Both lookups are answered from the second-level cache once the users have been seen.
         User organizer = userRepository.findById(organizerId)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.USER_NOT_FOUND_MESSAGE, organizerId)));
-        List<User> participants = userRepository.findAllByEmailIn(meetingCreationRequest.participantEmails());
+        Set<User> participants = new LinkedHashSet<>();
         participants.add(organizer);
+        userRepository.findAllByNaturalIdIn(meetingCreationRequest.participantEmails()).stream()
+                .filter(user -> !organizerId.equals(user.getId()))
+                .forEach(participants::add);
 
         Meeting newMeeting = Meeting.builder()
                 .title(meetingCreationRequest.title())
@@ -53,12 +108,107 @@ public class MeetingServiceImpl implements MeetingService {
                 .organizer(organizer)
                 .participants(participants)
                 .build();
-        Meeting savedMeeting = meetingRepository.save(newMeeting);
-        try {
-            availabilityRepository.save(availability);
-        } catch (ObjectOptimisticLockingFailureException exception) {
+        MeetingResponse meetingResponse = meetingResponseMapper.toResponse(meetingRepository.save(newMeeting));
+        ownerChangeVersionRepository.increment(ownerId);
+        return meetingResponse;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MeetingResponse getMeeting(Long meetingId) {
+        return meetingRepository.findWithOrganizerAndParticipantsById(meetingId)
+                .map(meetingResponseMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.MEETING_NOT_FOUND_MESSAGE, meetingId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MeetingPageResponse queryMeetings(Long participantId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new InvalidRequestParameterException(String.format(ErrorMessages.INVALID_LIMIT_MESSAGE, MAX_PAGE_LIMIT));
+        }
+        long afterId = Objects.isNull(cursor) ? 0L : MeetingCursor.decode(cursor).id();
+        List<MeetingResponse> items = meetingRepository.findPageByParticipantId(participantId, afterId, Limit.of(limit + 1)).stream()
+                .map(meetingResponseMapper::toResponse)
+                .toList();
+        if (items.size() <= limit) {
+            return new MeetingPageResponse(items, null);
+        }
+        List<MeetingResponse> page = items.subList(0, limit);
+        return new MeetingPageResponse(page, MeetingCursor.of(page.get(limit - 1)).encode());
+    }
+
+    @Override
+    @Transactional
+    public MeetingResponse addParticipants(Long organizerId, Long meetingId, MeetingParticipantsRequest meetingParticipantsRequest) {
+        requireOrganizedMeeting(organizerId, meetingId);
+        Set<String> emails = new HashSet<>(meetingParticipantsRequest.participantEmails());
+        List<User> participants = userRepository.findAllByNaturalIdIn(emails);
+        if (participants.size() < emails.size()) {
+            participants.stream().map(User::getEmail).toList().forEach(emails::remove);
+            throw new ResourceNotFoundException(String.format(ErrorMessages.USERS_NOT_FOUND_BY_EMAIL_MESSAGE, emails));
+        }
+        meetingRepository.addParticipants(meetingId, participants.stream().map(User::getId).toList());
+        return getMeeting(meetingId);
+    }
+
+    @Override
+    @Transactional
+    public MeetingResponse removeParticipants(Long organizerId, Long meetingId, MeetingParticipantsRequest meetingParticipantsRequest) {
+        requireOrganizedMeeting(organizerId, meetingId);
+        meetingRepository.removeParticipants(meetingId, Set.copyOf(meetingParticipantsRequest.participantEmails()));
+        return getMeeting(meetingId);
+    }
+
+    private void requireOrganizedMeeting(Long organizerId, Long meetingId) {
+        // Checked without loading the meeting, so the reload after the bulk statement is not served from the persistence context.
+        if (!meetingRepository.existsByIdAndOrganizerId(meetingId, organizerId)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.MEETING_NOT_FOUND_MESSAGE, meetingId));
+        }
+    }
+
+    private static String slotKey(MeetingCreationRequest meetingCreationRequest) {
+        if (Objects.nonNull(meetingCreationRequest.availabilityId())) {
+            return "availability:" + meetingCreationRequest.availabilityId();
+        }
+        return "rule:" + meetingCreationRequest.ruleId() + "@" + meetingCreationRequest.occurrenceStartDateTime();
+    }
+
+    private static AvailabilityBookedException bookedException(MeetingCreationRequest meetingCreationRequest) {
+        if (Objects.nonNull(meetingCreationRequest.availabilityId())) {
+            return new AvailabilityBookedException(String.format(ErrorMessages.AVAILABILITY_BOOKED_MESSAGE, meetingCreationRequest.availabilityId()));
+        }
+        return new AvailabilityBookedException(String.format(ErrorMessages.AVAILABILITY_OCCURRENCE_BOOKED_MESSAGE,
+                meetingCreationRequest.ruleId(), meetingCreationRequest.occurrenceStartDateTime()));
+    }
+
+    private Long claimAvailability(Long availabilityId) {
+        // Only the owner ID is used afterwards; the availability itself is never loaded, so no managed copy goes stale.
+        Optional<Long> ownerId = availabilityRepository.claimFree(availabilityId);
+        if (ownerId.isPresent()) {
+            return ownerId.get();
+        }
+        if (availabilityRepository.existsById(availabilityId)) {
             throw new AvailabilityBookedException(String.format(ErrorMessages.AVAILABILITY_BOOKED_MESSAGE, availabilityId));
         }
-        return meetingResponseMapper.toResponse(savedMeeting);
+        throw new ResourceNotFoundException(String.format(ErrorMessages.AVAILABILITY_NOT_FOUND_MESSAGE, availabilityId));
+    }
+
+    private Availability findBookableOccurrence(Long ruleId, Instant occurrenceStartDateTime) {
+        Availability occurrence = availabilityRuleService.findOccurrence(ruleId, occurrenceStartDateTime);
+        if (availabilityIntervalIndex.overlaps(occurrence.getOwnerId(), occurrence.getStartDateTime(), occurrence.getEndDateTime())) {
+            throw new AvailabilityBookedException(String.format(ErrorMessages.AVAILABILITY_OCCURRENCE_BOOKED_MESSAGE, ruleId, occurrenceStartDateTime));
+        }
+        return occurrence;
+    }
+
+    private void materializeOccurrence(Availability occurrence) {
+        try {
+            availabilityRepository.saveAndFlush(occurrence);
+            availabilityIntervalIndex.recordInserted(occurrence.getOwnerId(), occurrence.getStartDateTime(), occurrence.getEndDateTime());
+        } catch (DataIntegrityViolationException exception) {
+            throw new AvailabilityBookedException(String.format(ErrorMessages.AVAILABILITY_OCCURRENCE_BOOKED_MESSAGE,
+                    occurrence.getRuleId(), occurrence.getStartDateTime()));
+        }
     }
 }
@@ -0,0 +1,28 @@
+package com.codingchallenge.minidoodlev1.service.impl;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityResponseMapper;
+import com.codingchallenge.minidoodlev1.repository.ReactiveAvailabilityRepository;
+import com.codingchallenge.minidoodlev1.service.ReactiveAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "availability.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveAvailabilityServiceImpl implements ReactiveAvailabilityService {
+
+    private final ReactiveAvailabilityRepository reactiveAvailabilityRepository;
+    private final AvailabilityResponseMapper availabilityResponseMapper;
+
+    @Override
+    public Flux<AvailabilityResponse> queryAvailabilities(Long ownerId, Instant startDateTime, Instant endDateTime, AvailabilityStatus availabilityStatus) {
+        return reactiveAvailabilityRepository.findAll(ownerId, startDateTime, endDateTime, availabilityStatus)
+                .map(availabilityResponseMapper::toResponse);
+    }
+}
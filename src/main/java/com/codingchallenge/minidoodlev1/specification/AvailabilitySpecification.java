@@ -1,7 +1,10 @@
 package com.codingchallenge.minidoodlev1.specification;
 
+import com.codingchallenge.minidoodlev1.config.AvailabilityFunctionContributor;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCursor;
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
@@ -27,16 +30,30 @@ public class AvailabilitySpecification {
                 return null;
             }
 
+            // tstzrange(start, end) && tstzrange(?, ?) bounds both ends of the range in the GiST index, and the function adds the
+            // bounds on start_date_time that prune the monthly partitions.
+            // The bounds are bound as parameters: cb.literal() would inline them as zone-less timestamp literals.
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            return cb.isTrue(cb.function(AvailabilityFunctionContributor.TSTZRANGE_OVERLAPS, Boolean.class,
+                    root.get("startDateTime"), root.get("endDateTime"), hcb.value(startDateTime), hcb.value(endDateTime)));
+        };
+    }
+
+    public static Specification<Availability> after(AvailabilityCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+
+            // (start, id) > (cursorStart, cursorId), with a plain lower bound on start so the index range scan begins at the cursor.
             return cb.and(
-                    cb.greaterThan(root.get("endDateTime"), startDateTime),
-                    cb.lessThan(root.get("startDateTime"), endDateTime)
+                    cb.greaterThanOrEqualTo(root.get("startDateTime"), cursor.startDateTime()),
+                    cb.or(
+                            cb.greaterThan(root.get("startDateTime"), cursor.startDateTime()),
+                            cb.greaterThan(root.get("id"), cursor.id())
+                    )
             );
         };
     }
 
-    public static Specification<Availability> orderByStartDateTimeAsc = (root, query, cb) -> {
-        query.orderBy(cb.asc(root.get("startDateTime")));
-        return null;
-    };
-
 }
@@ -0,0 +1,127 @@
+package com.codingchallenge.minidoodlev1.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Counts, per time bucket, how many owners are free for the whole bucket.
+ */
+public final class AvailabilityHeatmap {
+
+    private AvailabilityHeatmap() {
+    }
+
+    /**
+     * Rasterizes the free time of every owner into a bitset with one bit per bucket, and adds the bitsets up.
+     *
+     * <p>Owners are rasterized and added in parallel. The sum is kept bit-sliced: plane {@code k} holds bit
+     * {@code k} of the count of every bucket, so adding an owner is a ripple-carry of {@code AND}/{@code XOR} over
+     * 64-bit words, covering 64 buckets per operation, and {@code n} owners need only {@code log2(n) + 1} planes.</p>
+     *
+     * @param freeIntervals  per owner, disjoint free intervals keyed by start time, as built by
+     *                       {@link AvailabilityIntervals#coalesce(List)}.
+     * @param startDateTime  the start of the first bucket.
+     * @param endDateTime    the end of the last bucket, which is shorter than the others if the window is not a
+     *                       multiple of {@code bucket}.
+     * @param bucket         the length of a bucket.
+     * @return the number of free owners per bucket, in time order.
+     */
+    public static int[] count(Collection<NavigableMap<Instant, Instant>> freeIntervals, Instant startDateTime, Instant endDateTime,
+                              Duration bucket) {
+        int bucketCount = bucketCount(startDateTime, endDateTime, bucket);
+        int words = Math.ceilDiv(bucketCount, Long.SIZE);
+        return freeIntervals.parallelStream()
+                .map(intervals -> rasterize(intervals, startDateTime, endDateTime, bucket, bucketCount))
+                .collect(() -> new BitSlicedCounter(words), BitSlicedCounter::add, BitSlicedCounter::addAll)
+                .counts(bucketCount);
+    }
+
+    public static int bucketCount(Instant startDateTime, Instant endDateTime, Duration bucket) {
+        return (int) Math.ceilDiv(Duration.between(startDateTime, endDateTime).toNanos(), bucket.toNanos());
+    }
+
+    /**
+     * Sets the bit of every bucket that lies entirely within one of the free intervals.
+     */
+    static long[] rasterize(NavigableMap<Instant, Instant> freeIntervals, Instant startDateTime, Instant endDateTime, Duration bucket,
+                            int bucketCount) {
+        long bucketNanos = bucket.toNanos();
+        BitSet free = new BitSet(bucketCount);
+        for (Map.Entry<Instant, Instant> interval : freeIntervals.entrySet()) {
+            long fromBucket = interval.getKey().isAfter(startDateTime)
+                    ? Math.ceilDiv(Duration.between(startDateTime, interval.getKey()).toNanos(), bucketNanos)
+                    : 0;
+            // The last bucket ends with the window, so an interval reaching the window end covers it.
+            long toBucket = interval.getValue().isBefore(endDateTime)
+                    ? Math.floorDiv(Duration.between(startDateTime, interval.getValue()).toNanos(), bucketNanos)
+                    : bucketCount;
+            if (fromBucket < toBucket) {
+                free.set((int) fromBucket, (int) toBucket);
+            }
+        }
+        return free.toLongArray();
+    }
+
+    /**
+     * Per-bucket counters stored bit-sliced over 64-bit words.
+     */
+    private static final class BitSlicedCounter {
+
+        private final int words;
+        private final List<long[]> planes = new ArrayList<>();
+
+        private BitSlicedCounter(int words) {
+            this.words = words;
+        }
+
+        private void add(long[] bits) {
+            addAt(bits, 0);
+        }
+
+        private void addAll(BitSlicedCounter other) {
+            for (int plane = 0; plane < other.planes.size(); plane++) {
+                addAt(other.planes.get(plane), plane);
+            }
+        }
+
+        /**
+         * Adds {@code bits}, weighted by {@code 2^weight}, to the counters; {@code bits} may be shorter than the
+         * planes, as {@link BitSet#toLongArray()} drops trailing empty words.
+         */
+        private void addAt(long[] bits, int weight) {
+            for (int word = 0; word < bits.length; word++) {
+                long carry = bits[word];
+                for (int plane = weight; carry != 0; plane++) {
+                    if (plane == planes.size()) {
+                        planes.add(new long[words]);
+                    }
+                    long[] sum = planes.get(plane);
+                    long previous = sum[word];
+                    sum[word] = previous ^ carry;
+                    carry = previous & carry;
+                }
+            }
+        }
+
+        private int[] counts(int bucketCount) {
+            int[] counts = new int[bucketCount];
+            for (int plane = 0; plane < planes.size(); plane++) {
+                long[] sum = planes.get(plane);
+                for (int word = 0; word < words; word++) {
+                    long bits = sum[word];
+                    while (bits != 0) {
+                        counts[word * Long.SIZE + Long.numberOfTrailingZeros(bits)] += 1 << plane;
+                        bits &= bits - 1;
+                    }
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.codingchallenge.minidoodlev1.utils;
+
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityInterval;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Helpers for overlap checks over half-open {@code [start, end)} time intervals.
+ */
+public final class AvailabilityIntervals {
+
+    private AvailabilityIntervals() {
+    }
+
+    /**
+     * Merges intervals sorted by start time into a map of disjoint intervals keyed by start time. Back-to-back
+     * intervals are merged too, so a span of time covered by several slots is always a single entry.
+     */
+    public static NavigableMap<Instant, Instant> coalesce(List<AvailabilityInterval> sortedIntervals) {
+        NavigableMap<Instant, Instant> coalesced = new TreeMap<>();
+        Map.Entry<Instant, Instant> last = null;
+        for (AvailabilityInterval interval : sortedIntervals) {
+            if (last != null && !interval.startDateTime().isAfter(last.getValue())) {
+                if (interval.endDateTime().isAfter(last.getValue())) {
+                    coalesced.put(last.getKey(), interval.endDateTime());
+                }
+            } else {
+                coalesced.put(interval.startDateTime(), interval.endDateTime());
+            }
+            last = coalesced.lastEntry();
+        }
+        return coalesced;
+    }
+
+    /**
+     * Checks whether {@code [startDateTime, endDateTime)} overlaps any interval of a map built by {@link #coalesce(List)}.
+     */
+    public static boolean overlaps(NavigableMap<Instant, Instant> disjointIntervals, Instant startDateTime, Instant endDateTime) {
+        Map.Entry<Instant, Instant> candidate = disjointIntervals.lowerEntry(endDateTime);
+        return candidate != null && candidate.getValue().isAfter(startDateTime);
+    }
+}
@@ -0,0 +1,70 @@
+package com.codingchallenge.minidoodlev1.utils;
+
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.entity.AvailabilityRule;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Expands {@link AvailabilityRule} recurrences into transient (never persisted) {@link Availability}
+ * occurrences. Occurrence times are computed from the rule's wall-clock times in its own time zone,
+ * so they follow daylight saving transitions.
+ */
+public final class AvailabilityRuleOccurrences {
+
+    private AvailabilityRuleOccurrences() {
+    }
+
+    /**
+     * Returns the occurrences of the rule that overlap {@code [from, to)}, ordered by start time.
+     */
+    public static List<Availability> expand(AvailabilityRule rule, Instant from, Instant to) {
+        ZoneId zone = ZoneId.of(rule.getTimeZone());
+        LocalDate windowFirstDate = from.atZone(zone).toLocalDate();
+        LocalDate windowLastDate = to.atZone(zone).toLocalDate();
+        LocalDate lastDate = rule.getUntilDate() == null || rule.getUntilDate().isAfter(windowLastDate)
+                ? windowLastDate
+                : rule.getUntilDate();
+        // A count-bounded rule has to be walked from its first date to know which occurrences still exist.
+        LocalDate date = rule.getOccurrenceCount() != null || rule.getStartDate().isAfter(windowFirstDate)
+                ? rule.getStartDate()
+                : windowFirstDate;
+        int remaining = rule.getOccurrenceCount() == null ? Integer.MAX_VALUE : rule.getOccurrenceCount();
+
+        List<Availability> occurrences = new ArrayList<>();
+        for (; !date.isAfter(lastDate) && remaining > 0; date = date.plusDays(1)) {
+            if (!DaysOfWeekMask.contains(rule.getDaysOfWeek(), date.getDayOfWeek())) {
+                continue;
+            }
+            remaining--;
+            Instant startDateTime = ZonedDateTime.of(date, rule.getStartTime(), zone).toInstant();
+            Instant endDateTime = ZonedDateTime.of(date, rule.getEndTime(), zone).toInstant();
+            if (endDateTime.isAfter(startDateTime) && endDateTime.isAfter(from) && startDateTime.isBefore(to)) {
+                occurrences.add(Availability.builder()
+                        .startDateTime(startDateTime)
+                        .endDateTime(endDateTime)
+                        .availabilityStatus(AvailabilityStatus.FREE)
+                        .ownerId(rule.getOwnerId())
+                        .ruleId(rule.getId())
+                        .build());
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns the occurrence of the rule that starts exactly at {@code startDateTime}, if there is one.
+     */
+    public static Optional<Availability> occurrenceStartingAt(AvailabilityRule rule, Instant startDateTime) {
+        return expand(rule, startDateTime, startDateTime.plusNanos(1)).stream()
+                .filter(occurrence -> occurrence.getStartDateTime().equals(startDateTime))
+                .findFirst();
+    }
+}
@@ -0,0 +1,86 @@
+package com.codingchallenge.minidoodlev1.utils;
+
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+
+/**
+ * Sweep-line intersection of the free time of several participants.
+ */
+public final class CommonSlots {
+
+    private CommonSlots() {
+    }
+
+    /**
+     * Finds the earliest windows in which at least {@code quorum} participants are free at the same time.
+     *
+     * <p>The disjoint free intervals of every participant are merged k-way through a priority queue ordered
+     * by the next boundary of each participant, so the sweep costs {@code O(n log k)} for {@code n} intervals
+     * of {@code k} participants and stops as soon as {@code limit} windows are found.</p>
+     *
+     * @param freeIntervals   per participant, disjoint free intervals keyed by start time, as built by
+     *                        {@link AvailabilityIntervals#coalesce(List)}.
+     * @param quorum          the minimum number of participants that have to be free.
+     * @param minimumDuration the minimum length of a returned window.
+     * @param limit           the maximum number of windows to return.
+     * @return windows ordered by start time, each with the smallest number of free participants within it.
+     */
+    public static List<CommonSlotResponse> find(Collection<NavigableMap<Instant, Instant>> freeIntervals, int quorum,
+                                                Duration minimumDuration, int limit) {
+        PriorityQueue<Boundary> boundaries = new PriorityQueue<>(Comparator.comparing(Boundary::instant));
+        for (NavigableMap<Instant, Instant> intervals : freeIntervals) {
+            Iterator<Map.Entry<Instant, Instant>> iterator = intervals.entrySet().iterator();
+            if (iterator.hasNext()) {
+                boundaries.add(new Boundary(iterator, iterator.next(), false));
+            }
+        }
+
+        List<CommonSlotResponse> slots = new ArrayList<>();
+        int free = 0;
+        Instant openedAt = null;
+        int minimumFree = 0;
+        while (!boundaries.isEmpty() && slots.size() < limit) {
+            Instant instant = boundaries.peek().instant();
+            // Apply every boundary at this instant first, so back-to-back intervals do not split a window.
+            while (!boundaries.isEmpty() && boundaries.peek().instant().equals(instant)) {
+                Boundary boundary = boundaries.poll();
+                if (boundary.end()) {
+                    free--;
+                    if (boundary.iterator().hasNext()) {
+                        boundaries.add(new Boundary(boundary.iterator(), boundary.iterator().next(), false));
+                    }
+                } else {
+                    free++;
+                    boundaries.add(new Boundary(boundary.iterator(), boundary.interval(), true));
+                }
+            }
+            if (free >= quorum) {
+                minimumFree = openedAt == null ? free : Math.min(minimumFree, free);
+                openedAt = openedAt == null ? instant : openedAt;
+            } else if (openedAt != null) {
+                if (Duration.between(openedAt, instant).compareTo(minimumDuration) >= 0) {
+                    slots.add(new CommonSlotResponse(openedAt, instant, minimumFree));
+                }
+                openedAt = null;
+            }
+        }
+        return slots;
+    }
+
+    private record Boundary(Iterator<Map.Entry<Instant, Instant>> iterator, Map.Entry<Instant, Instant> interval, boolean end) {
+
+        Instant instant() {
+            return end ? interval.getValue() : interval.getKey();
+        }
+    }
+}
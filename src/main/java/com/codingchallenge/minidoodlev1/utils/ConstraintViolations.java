@@ -0,0 +1,46 @@
+package com.codingchallenge.minidoodlev1.utils;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Recognizes database constraints behind a {@link DataIntegrityViolationException}.
+ */
+public final class ConstraintViolations {
+
+    // Raised as an exclusion violation by the overlap trigger of the partitioned availabilities table.
+    public static final String AVAILABILITY_OVERLAP_CONSTRAINT = "excl_availability_owner_overlap";
+
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Checks whether the exception was caused by two availabilities of one owner overlapping.
+     */
+    public static boolean isAvailabilityOverlap(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return AVAILABILITY_OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+            }
+            // Batched statements lose the constraint name on the way up, so the driver's error is inspected directly.
+            if (cause instanceof SQLException sqlException && isOverlap(sqlException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOverlap(SQLException exception) {
+        for (SQLException next = exception; next != null; next = next.getNextException()) {
+            if (EXCLUSION_VIOLATION_SQL_STATE.equals(next.getSQLState())
+                    && next.getMessage() != null && next.getMessage().contains(AVAILABILITY_OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.codingchallenge.minidoodlev1.utils;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Packs a set of {@link DayOfWeek} values into an integer bitmask (bit 0 is Monday) so that a
+ * weekly recurrence can be stored in a single column.
+ */
+public final class DaysOfWeekMask {
+
+    private DaysOfWeekMask() {
+    }
+
+    public static int toMask(Collection<DayOfWeek> daysOfWeek) {
+        int mask = 0;
+        for (DayOfWeek dayOfWeek : daysOfWeek) {
+            mask |= 1 << dayOfWeek.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<DayOfWeek> toDaysOfWeek(int mask) {
+        Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (contains(mask, dayOfWeek)) {
+                daysOfWeek.add(dayOfWeek);
+            }
+        }
+        return daysOfWeek;
+    }
+
+    public static boolean contains(int mask, DayOfWeek dayOfWeek) {
+        return (mask & (1 << dayOfWeek.ordinal())) != 0;
+    }
+}
@@ -5,6 +5,28 @@ public interface ErrorMessages {
     String AVAILABILITY_NOT_FOUND_MESSAGE = "Availability not found by id = [%s]";
     String AVAILABILITY_CONFLICT_MESSAGE = "The requested time slot conflicts with an existing availability.";
     String AVAILABILITY_BOOKED_MESSAGE = "Availability with id = [%s] already booked by other user";
+    String AVAILABILITY_OCCURRENCE_BOOKED_MESSAGE = "Occurrence of availability rule with id = [%s] starting at [%s] already booked by other user";
+    String AVAILABILITY_CONTENDED_MESSAGE = "Too many concurrent bookings of the same availability, please retry later";
+    String AVAILABILITY_CHANGED_MESSAGE = "The availability was changed concurrently, please retry";
+
+    String AVAILABILITY_RULE_NOT_FOUND_MESSAGE = "Availability rule not found by id = [%s]";
+    String AVAILABILITY_RULE_CONFLICT_MESSAGE = "The requested recurrence rule conflicts with an existing availability rule.";
+    String AVAILABILITY_OCCURRENCE_NOT_FOUND_MESSAGE = "Availability rule with id = [%s] has no occurrence starting at [%s]";
+
+    String MEETING_NOT_FOUND_MESSAGE = "Meeting not found by id = [%s]";
+
+    String DATABASE_BUSY_MESSAGE = "The service is busy, please retry later";
 
     String USER_NOT_FOUND_MESSAGE = "User not found by id = [%s]";
+    String USERS_NOT_FOUND_BY_EMAIL_MESSAGE = "Users not found by emails = %s";
+
+    String INVALID_CURSOR_MESSAGE = "Cursor [%s] is malformed";
+    String INVALID_LIMIT_MESSAGE = "Limit must be between 1 and %s";
+    String INVALID_WINDOW_MESSAGE = "Search window must end after it starts and span at most %s days";
+    String INVALID_IDEMPOTENCY_KEY_MESSAGE = "Idempotency-Key must not be blank and have at most %s characters";
+    String IDEMPOTENCY_KEY_REUSED_MESSAGE = "Idempotency-Key was already used for a different request";
+    String IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE = "A request with the same Idempotency-Key is still being processed, please retry later";
+    String INVALID_QUORUM_MESSAGE = "Quorum must not exceed the number of participants (%s)";
+    String INVALID_HEATMAP_OWNERS_MESSAGE = "Heatmap must cover between 1 and %s owners";
+    String INVALID_HEATMAP_BUCKETS_MESSAGE = "Bucket size must be positive and divide the window into at most %s buckets";
 }
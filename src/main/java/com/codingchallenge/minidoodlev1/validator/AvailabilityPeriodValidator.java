@@ -1,22 +1,23 @@
 package com.codingchallenge.minidoodlev1.validator;
 
 import com.codingchallenge.minidoodlev1.annotation.ValidAvailabilityPeriod;
-import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPeriod;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 import java.time.Instant;
 import java.util.Objects;
 
-public class AvailabilityPeriodValidator implements ConstraintValidator<ValidAvailabilityPeriod, AvailabilityCreationRequest> {
+public class AvailabilityPeriodValidator implements ConstraintValidator<ValidAvailabilityPeriod, AvailabilityPeriod> {
 
     @Override
-    public boolean isValid(AvailabilityCreationRequest availabilityCreationRequest, ConstraintValidatorContext constraintValidatorContext) {
-        Instant startDateTime = availabilityCreationRequest.startDateTime();
-        Instant endDateTime = availabilityCreationRequest.endDateTime();
+    public boolean isValid(AvailabilityPeriod availabilityPeriod, ConstraintValidatorContext constraintValidatorContext) {
+        Instant startDateTime = availabilityPeriod.startDateTime();
+        Instant endDateTime = availabilityPeriod.endDateTime();
         if (Objects.isNull(startDateTime) || Objects.isNull(endDateTime)) {
             return true;
         }
-        return endDateTime.isAfter(startDateTime);
+        return endDateTime.isAfter(startDateTime) && !endDateTime.isAfter(startDateTime.plus(Availability.MAX_DURATION));
     }
 }
@@ -0,0 +1,35 @@
+package com.codingchallenge.minidoodlev1.validator;
+
+import com.codingchallenge.minidoodlev1.annotation.ValidAvailabilityRule;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleCreationRequest;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Objects;
+
+public class AvailabilityRuleValidator implements ConstraintValidator<ValidAvailabilityRule, AvailabilityRuleCreationRequest> {
+
+    @Override
+    public boolean isValid(AvailabilityRuleCreationRequest availabilityRuleCreationRequest, ConstraintValidatorContext constraintValidatorContext) {
+        if (Objects.nonNull(availabilityRuleCreationRequest.startTime()) && Objects.nonNull(availabilityRuleCreationRequest.endTime())
+                && !availabilityRuleCreationRequest.endTime().isAfter(availabilityRuleCreationRequest.startTime())) {
+            return false;
+        }
+        if (Objects.nonNull(availabilityRuleCreationRequest.startDate()) && Objects.nonNull(availabilityRuleCreationRequest.untilDate())
+                && availabilityRuleCreationRequest.untilDate().isBefore(availabilityRuleCreationRequest.startDate())) {
+            return false;
+        }
+        return Objects.isNull(availabilityRuleCreationRequest.timeZone()) || isValidZone(availabilityRuleCreationRequest.timeZone());
+    }
+
+    private static boolean isValidZone(String timeZone) {
+        try {
+            ZoneId.of(timeZone);
+            return true;
+        } catch (DateTimeException exception) {
+            return false;
+        }
+    }
+}
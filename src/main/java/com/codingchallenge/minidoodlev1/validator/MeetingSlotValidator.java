@@ -0,0 +1,20 @@
+package com.codingchallenge.minidoodlev1.validator;
+
+import com.codingchallenge.minidoodlev1.annotation.ValidMeetingSlot;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingCreationRequest;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.Objects;
+
+public class MeetingSlotValidator implements ConstraintValidator<ValidMeetingSlot, MeetingCreationRequest> {
+
+    @Override
+    public boolean isValid(MeetingCreationRequest meetingCreationRequest, ConstraintValidatorContext constraintValidatorContext) {
+        boolean hasOccurrence = Objects.nonNull(meetingCreationRequest.ruleId()) || Objects.nonNull(meetingCreationRequest.occurrenceStartDateTime());
+        if (Objects.nonNull(meetingCreationRequest.availabilityId())) {
+            return !hasOccurrence;
+        }
+        return Objects.nonNull(meetingCreationRequest.ruleId()) && Objects.nonNull(meetingCreationRequest.occurrenceStartDateTime());
+    }
+}
@@ -0,0 +1,136 @@
+-- Availabilities are range-partitioned by month of start_date_time (UTC), so that queries bounded in time only
+-- scan the partitions of their window and old months can be detached instead of deleted row by row.
+--
+-- A partitioned table cannot carry the overlap exclusion constraint: unique and exclusion constraints must
+-- compare the partition key with equality. The constraint is replaced by the trigger below, which reports
+-- overlaps under the same constraint name, and by a partitioned GiST index for the range lookups.
+ALTER TABLE availabilities RENAME TO availabilities_unpartitioned;
+ALTER TABLE availabilities_unpartitioned DROP CONSTRAINT excl_availability_owner_overlap;
+ALTER TABLE availabilities_unpartitioned DROP CONSTRAINT availabilities_pkey;
+DROP INDEX idx_availability_search;
+DROP INDEX idx_availability_rule_occurrence;
+DROP INDEX idx_availability_owner_start;
+
+-- The primary key must include the partition key; ids still come from availability_id_seq alone.
+-- The length limit mirrors Availability.MAX_DURATION: a row overlapping a window starts at most that long before
+-- the window, which gives time-bounded queries a lower bound on start_date_time to prune partitions with.
+CREATE TABLE availabilities
+(
+    id                  BIGINT                   NOT NULL DEFAULT nextval('availability_id_seq'),
+    start_date_time     TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_date_time       TIMESTAMP WITH TIME ZONE NOT NULL,
+    availability_status availability_status      NOT NULL DEFAULT 'FREE',
+    created_at          TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at          TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    owner_id            BIGINT                   NOT NULL,
+    version             INTEGER                  NOT NULL DEFAULT 0,
+    rule_id             BIGINT,
+    CONSTRAINT availabilities_pkey PRIMARY KEY (id, start_date_time),
+    CONSTRAINT fk_availability_owner FOREIGN KEY (owner_id) REFERENCES users (id),
+    CONSTRAINT fk_availability_rule FOREIGN KEY (rule_id) REFERENCES availability_rules (id) ON DELETE SET NULL,
+    CONSTRAINT chk_availability_period
+        CHECK (end_date_time > start_date_time AND end_date_time <= start_date_time + INTERVAL '744 hours')
+) PARTITION BY RANGE (start_date_time);
+
+CREATE INDEX idx_availability_search ON availabilities (owner_id, availability_status, start_date_time, end_date_time);
+CREATE UNIQUE INDEX idx_availability_rule_occurrence ON availabilities (rule_id, start_date_time);
+CREATE INDEX idx_availability_owner_start ON availabilities (owner_id, start_date_time, id);
+CREATE INDEX idx_availability_owner_period ON availabilities USING gist (owner_id, tstzrange(start_date_time, end_date_time));
+
+-- Rows of months without a partition yet, e.g. slots far in the future, are kept here until their month is created.
+CREATE TABLE availabilities_default PARTITION OF availabilities DEFAULT;
+
+-- Creates the partition of the month containing month_start, unless it exists, and moves the month's rows out of
+-- the default partition. The partition is built detached and then attached, which takes a SHARE UPDATE EXCLUSIVE
+-- lock on availabilities, so reads and writes of the other partitions go on meanwhile. Attaching also takes an
+-- ACCESS EXCLUSIVE lock on availabilities_default and scans it for rows of the new month. That lock is taken before
+-- the move instead: otherwise a row of the month inserted into the default partition after the move makes the
+-- attach fail. The default partition only holds months beyond those kept ahead, so holding it is short. The bounds
+-- are checked on the new table before attaching so that it is not scanned as well. If the function fails anyway,
+-- e.g. on a lock timeout, nothing of it is kept and the partition maintenance retries the month on its next run.
+CREATE FUNCTION create_availability_partition(month_start TIMESTAMP WITH TIME ZONE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    lower_bound    TIMESTAMP WITH TIME ZONE := date_trunc('month', month_start, 'UTC');
+    upper_bound    TIMESTAMP WITH TIME ZONE := date_trunc('month', lower_bound + INTERVAL '32 days', 'UTC');
+    partition_name TEXT                     := 'availabilities_p' || to_char(lower_bound AT TIME ZONE 'UTC', 'YYYY_MM');
+BEGIN
+    -- Serializes instances running the maintenance at the same time.
+    PERFORM pg_advisory_xact_lock('availabilities'::regclass::oid::integer, 0);
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE availabilities INCLUDING DEFAULTS INCLUDING CONSTRAINTS, '
+                       || 'CONSTRAINT %I CHECK (start_date_time >= %L AND start_date_time < %L))',
+                   partition_name, partition_name || '_bounds', lower_bound, upper_bound);
+    LOCK TABLE availabilities_default IN ACCESS EXCLUSIVE MODE;
+    EXECUTE format('WITH moved AS (DELETE FROM availabilities_default WHERE start_date_time >= %L AND start_date_time < %L RETURNING *) '
+                       || 'INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE availabilities ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, partition_name || '_bounds');
+    RETURN TRUE;
+END;
+$$;
+
+-- Every month an existing row covers gets a partition, as rows longer than the limit are split below.
+SELECT create_availability_partition(month_start)
+FROM (SELECT generate_series(date_trunc('month', start_date_time, 'UTC'), end_date_time, INTERVAL '1 month', 'UTC') AS month_start
+      FROM availabilities_unpartitioned
+      UNION
+      SELECT generate_series(date_trunc('month', now(), 'UTC'), now() + INTERVAL '12 months', INTERVAL '1 month', 'UTC')) months
+ORDER BY month_start;
+
+-- Rows longer than the limit are split into back-to-back pieces of at most 744 hours, so the check holds for
+-- existing data. The first piece keeps the id and the rule; the others are plain slots with new ids.
+INSERT INTO availabilities (id, start_date_time, end_date_time, availability_status, created_at, updated_at, owner_id, version, rule_id)
+SELECT CASE WHEN piece.n = 0 THEN a.id ELSE nextval('availability_id_seq') END,
+       piece.start_date_time,
+       LEAST(piece.start_date_time + INTERVAL '744 hours', a.end_date_time),
+       a.availability_status, a.created_at, a.updated_at, a.owner_id, a.version,
+       CASE WHEN piece.n = 0 THEN a.rule_id END
+FROM availabilities_unpartitioned a
+         CROSS JOIN LATERAL (SELECT n, a.start_date_time + n * INTERVAL '744 hours' AS start_date_time
+                             FROM generate_series(0, CEIL(EXTRACT(EPOCH FROM a.end_date_time - a.start_date_time) / 2678400)::INTEGER - 1) n) piece;
+
+DROP TABLE availabilities_unpartitioned;
+
+-- No two availabilities of the same owner may overlap; ranges are half-open, so back-to-back slots are allowed.
+-- The per-owner advisory lock serializes the check with concurrent writes of the owner until they commit, and the
+-- bounds on start_date_time restrict the lookup to the partitions the new range can reach.
+CREATE FUNCTION check_availability_overlap() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(NEW.owner_id);
+    IF EXISTS (SELECT 1
+               FROM availabilities a
+               WHERE a.owner_id = NEW.owner_id
+                 AND a.id <> NEW.id
+                 AND a.start_date_time < NEW.end_date_time
+                 AND a.start_date_time > NEW.start_date_time - INTERVAL '744 hours'
+                 AND tstzrange(a.start_date_time, a.end_date_time) && tstzrange(NEW.start_date_time, NEW.end_date_time)) THEN
+        RAISE EXCEPTION 'conflicting key value violates exclusion constraint "excl_availability_owner_overlap"'
+            USING ERRCODE = 'exclusion_violation',
+                CONSTRAINT = 'excl_availability_owner_overlap',
+                TABLE = 'availabilities';
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_availability_overlap_insert
+    BEFORE INSERT
+    ON availabilities
+    FOR EACH ROW
+EXECUTE FUNCTION check_availability_overlap();
+
+CREATE TRIGGER trg_availability_overlap_update
+    BEFORE UPDATE OF owner_id, start_date_time, end_date_time
+    ON availabilities
+    FOR EACH ROW
+    WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id
+        OR OLD.start_date_time IS DISTINCT FROM NEW.start_date_time
+        OR OLD.end_date_time IS DISTINCT FROM NEW.end_date_time)
+EXECUTE FUNCTION check_availability_overlap();
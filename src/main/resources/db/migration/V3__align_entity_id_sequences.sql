@@ -0,0 +1,3 @@
+-- Availability ids were previously drawn from user_id_seq. Move the sequence past every id
+-- already handed out so the pooled optimizer (allocation size 50) cannot produce duplicates.
+SELECT setval('availability_id_seq', (SELECT COALESCE(MAX(id), 0) FROM availabilities) + 50);
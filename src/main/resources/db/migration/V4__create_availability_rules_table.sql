@@ -0,0 +1,29 @@
+CREATE SEQUENCE availability_rule_id_seq
+    START WITH 1
+    INCREMENT BY 50
+    NO MAXVALUE;
+
+CREATE TABLE availability_rules
+(
+    id               BIGINT PRIMARY KEY       NOT NULL DEFAULT nextval('availability_rule_id_seq'),
+    owner_id         BIGINT                   NOT NULL REFERENCES users (id),
+    days_of_week     INTEGER                  NOT NULL,
+    start_time       TIME                     NOT NULL,
+    end_time         TIME                     NOT NULL,
+    time_zone        VARCHAR(64)              NOT NULL,
+    start_date       DATE                     NOT NULL,
+    until_date       DATE,
+    occurrence_count INTEGER,
+    version          INTEGER                  NOT NULL DEFAULT 0,
+    created_at       TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at       TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_availability_rule_owner ON availability_rules (owner_id);
+
+-- Occurrences of a rule only become rows once they are booked; the unique index prevents
+-- the same occurrence from being materialized twice by concurrent bookings.
+ALTER TABLE availabilities
+    ADD COLUMN rule_id BIGINT REFERENCES availability_rules (id) ON DELETE SET NULL;
+
+CREATE UNIQUE INDEX idx_availability_rule_occurrence ON availabilities (rule_id, start_date_time);
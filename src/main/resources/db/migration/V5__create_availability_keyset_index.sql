@@ -0,0 +1,3 @@
+-- Keyset pagination walks an owner's availabilities in (start_date_time, id) order. With a status filter
+-- idx_availability_search already provides that order; this index covers the unfiltered listing.
+CREATE INDEX idx_availability_owner_start ON availabilities (owner_id, start_date_time, id);
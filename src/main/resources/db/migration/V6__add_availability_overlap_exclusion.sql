@@ -0,0 +1,7 @@
+-- btree_gist provides the GiST equality operator class for owner_id.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- No two availabilities of the same owner may overlap; ranges are half-open, so back-to-back slots are allowed.
+ALTER TABLE availabilities
+    ADD CONSTRAINT excl_availability_owner_overlap
+        EXCLUDE USING gist (owner_id WITH =, tstzrange(start_date_time, end_date_time) WITH &&);
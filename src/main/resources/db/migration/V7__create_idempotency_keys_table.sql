@@ -0,0 +1,14 @@
+-- Completed responses of requests sent with an Idempotency-Key header, used when
+-- idempotency.store=database so that retries are replayed by any instance.
+CREATE TABLE idempotency_keys
+(
+    idempotency_key VARCHAR(512)             PRIMARY KEY NOT NULL,
+    request_hash    VARCHAR(64)              NOT NULL,
+    status_code     INTEGER                  NOT NULL,
+    content_type    VARCHAR(255),
+    body            BYTEA                    NOT NULL,
+    expires_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,2 @@
+-- The primary key leads with meeting_id; listing the meetings of a participant needs the reverse order.
+CREATE INDEX idx_meetings_participants_participant ON meetings_participants (participant_id, meeting_id);
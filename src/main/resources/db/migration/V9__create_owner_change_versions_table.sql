@@ -0,0 +1,7 @@
+-- Per-owner counter of changes to the availabilities and recurrence rules that make up a calendar.
+-- It is bumped in the transaction of every change and serves as the ETag of availability queries.
+CREATE TABLE owner_change_versions
+(
+    owner_id BIGINT PRIMARY KEY NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    version  BIGINT             NOT NULL
+);
@@ -0,0 +1,104 @@
+package com.codingchallenge.minidoodlev1.cache;
+
+import com.codingchallenge.minidoodlev1.config.AvailabilityIntervalIndexProperties;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityInterval;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIntervalIndexTest {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilityIntervalIndex availabilityIntervalIndex;
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long OTHER_OWNER_ID = 2L;
+    private static final Instant NINE = Instant.parse("2025-12-01T09:00:00Z");
+    private static final Instant TEN = Instant.parse("2025-12-01T10:00:00Z");
+    private static final Instant ELEVEN = Instant.parse("2025-12-01T11:00:00Z");
+    private static final Instant TWELVE = Instant.parse("2025-12-01T12:00:00Z");
+    private static final Instant THIRTEEN = Instant.parse("2025-12-01T13:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityIntervalIndex = new AvailabilityIntervalIndex(availabilityRepository, new AvailabilityIntervalIndexProperties(true, 1), meterRegistry);
+    }
+
+    @Test
+    void overlaps_LoadsOwnerOnceAndAnswersFromMemory() {
+        when(availabilityRepository.findByOwnerIdOrderByStartDateTimeAsc(OWNER_ID)).thenReturn(List.of(
+                new AvailabilityInterval(10L, TEN, ELEVEN),
+                new AvailabilityInterval(11L, TWELVE, THIRTEEN)));
+
+        assertTrue(availabilityIntervalIndex.overlaps(OWNER_ID, TEN.plusSeconds(1800), TWELVE));
+        assertFalse(availabilityIntervalIndex.overlaps(OWNER_ID, ELEVEN, TWELVE));
+        assertFalse(availabilityIntervalIndex.overlaps(OWNER_ID, NINE, TEN));
+        assertTrue(availabilityIntervalIndex.overlaps(OWNER_ID, NINE, THIRTEEN));
+
+        verify(availabilityRepository, times(1)).findByOwnerIdOrderByStartDateTimeAsc(OWNER_ID);
+        verify(availabilityRepository, never()).existsOverlapping(any(), any(), any());
+        assertEquals(3.0, meterRegistry.get("availability.interval.index.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("availability.interval.index.lookups").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void recordInserted_ExtendsCachedIntervals() {
+        when(availabilityRepository.findByOwnerIdOrderByStartDateTimeAsc(OWNER_ID)).thenReturn(List.of(
+                new AvailabilityInterval(10L, NINE, TEN),
+                new AvailabilityInterval(11L, TWELVE, THIRTEEN)));
+        assertFalse(availabilityIntervalIndex.overlaps(OWNER_ID, TEN, TWELVE));
+
+        availabilityIntervalIndex.recordInserted(OWNER_ID, ELEVEN, TWELVE);
+
+        assertTrue(availabilityIntervalIndex.overlaps(OWNER_ID, ELEVEN.minusSeconds(1), ELEVEN.plusSeconds(1)));
+        assertFalse(availabilityIntervalIndex.overlaps(OWNER_ID, TEN, ELEVEN));
+        assertTrue(availabilityIntervalIndex.overlaps(OWNER_ID, NINE, TEN.plusSeconds(1)));
+        verify(availabilityRepository, times(1)).findByOwnerIdOrderByStartDateTimeAsc(OWNER_ID);
+    }
+
+    @Test
+    void invalidateAndEviction_ReloadOwner() {
+        when(availabilityRepository.findByOwnerIdOrderByStartDateTimeAsc(OWNER_ID)).thenReturn(List.of(new AvailabilityInterval(10L, TEN, ELEVEN)));
+        when(availabilityRepository.findByOwnerIdOrderByStartDateTimeAsc(OTHER_OWNER_ID)).thenReturn(List.of());
+
+        assertTrue(availabilityIntervalIndex.overlaps(OWNER_ID, TEN, ELEVEN));
+        availabilityIntervalIndex.invalidate(OWNER_ID);
+        assertTrue(availabilityIntervalIndex.overlaps(OWNER_ID, TEN, ELEVEN));
+        // The index holds a single owner, so looking up another one evicts the first.
+        assertFalse(availabilityIntervalIndex.overlaps(OTHER_OWNER_ID, TEN, ELEVEN));
+        assertTrue(availabilityIntervalIndex.overlaps(OWNER_ID, TEN, ELEVEN));
+
+        verify(availabilityRepository, times(3)).findByOwnerIdOrderByStartDateTimeAsc(OWNER_ID);
+    }
+
+    @Test
+    void overlaps_DisabledIndexQueriesDatabase() {
+        AvailabilityIntervalIndex disabledIndex = new AvailabilityIntervalIndex(availabilityRepository,
+                new AvailabilityIntervalIndexProperties(false, 1), meterRegistry);
+        when(availabilityRepository.existsOverlapping(OWNER_ID, TEN, ELEVEN)).thenReturn(true);
+
+        assertTrue(disabledIndex.overlaps(OWNER_ID, TEN, ELEVEN));
+        verify(availabilityRepository, never()).findByOwnerIdOrderByStartDateTimeAsc(any());
+    }
+}
@@ -0,0 +1,42 @@
+package com.codingchallenge.minidoodlev1.compaction;
+
+import com.codingchallenge.minidoodlev1.config.AvailabilityCompactionProperties;
+import com.codingchallenge.minidoodlev1.service.AvailabilityCompactionService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AvailabilityCompactionJobTest {
+
+    private final AvailabilityCompactionService availabilityCompactionService = mock(AvailabilityCompactionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void compact_ShouldCompactOwnersOneByOneAndRecordRowsMergedPerRun() {
+        AvailabilityCompactionJob job = new AvailabilityCompactionJob(availabilityCompactionService,
+                new AvailabilityCompactionProperties(true, 2, 500), meterRegistry);
+        when(availabilityCompactionService.findCompactableOwners(0L, 2)).thenReturn(List.of(1L, 51L));
+        when(availabilityCompactionService.findCompactableOwners(51L, 2)).thenReturn(List.of(101L));
+        when(availabilityCompactionService.findCompactableOwners(101L, 2)).thenReturn(List.of());
+        when(availabilityCompactionService.compact(1L)).thenReturn(3);
+        when(availabilityCompactionService.compact(51L)).thenReturn(1);
+        when(availabilityCompactionService.compact(101L)).thenReturn(1);
+
+        job.compact();
+        job.compact();
+
+        verify(availabilityCompactionService, times(2)).compact(101L);
+        DistributionSummary mergedRows = meterRegistry.find(AvailabilityCompactionJob.MERGED_ROWS).summary();
+        assertEquals(2, mergedRows.count());
+        assertEquals(10.0, mergedRows.totalAmount());
+        assertEquals(5.0, mergedRows.max());
+    }
+}
@@ -0,0 +1,118 @@
+package com.codingchallenge.minidoodlev1.concurrency;
+
+import com.codingchallenge.minidoodlev1.concurrency.BookingContentionGate.Admission;
+import com.codingchallenge.minidoodlev1.config.BookingContentionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingContentionGateTest {
+
+    private static final String SLOT_KEY = "availability:1";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acquire_WhenSlotTaken_ShouldRejectEveryWaiter() throws Exception {
+        BookingContentionGate gate = gate(5, Duration.ofSeconds(5));
+        assertEquals(Admission.GRANTED, gate.acquire(SLOT_KEY));
+        Future<Admission> first = executor.submit(() -> gate.acquire(SLOT_KEY));
+        Future<Admission> second = executor.submit(() -> gate.acquire(SLOT_KEY));
+        awaitQueued(2);
+
+        gate.release(SLOT_KEY, true);
+
+        assertEquals(Admission.TAKEN, first.get(1, TimeUnit.SECONDS));
+        assertEquals(Admission.TAKEN, second.get(1, TimeUnit.SECONDS));
+        assertEquals(Admission.GRANTED, gate.acquire(SLOT_KEY));
+    }
+
+    @Test
+    void acquire_WhenBookingFailed_ShouldHandOverToLongestWaiter() throws Exception {
+        BookingContentionGate gate = gate(5, Duration.ofSeconds(5));
+        assertEquals(Admission.GRANTED, gate.acquire(SLOT_KEY));
+        Future<Admission> first = executor.submit(() -> gate.acquire(SLOT_KEY));
+        awaitQueued(1);
+        Future<Admission> second = executor.submit(() -> gate.acquire(SLOT_KEY));
+        awaitQueued(2);
+
+        gate.release(SLOT_KEY, false);
+
+        assertEquals(Admission.GRANTED, first.get(1, TimeUnit.SECONDS));
+        gate.release(SLOT_KEY, true);
+        assertEquals(Admission.TAKEN, second.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void acquire_WhenWaitlistFull_ShouldRejectImmediately() {
+        BookingContentionGate gate = gate(0, Duration.ofSeconds(5));
+        assertEquals(Admission.GRANTED, gate.acquire(SLOT_KEY));
+
+        assertEquals(Admission.CONTENDED, gate.acquire(SLOT_KEY));
+        assertEquals(Admission.GRANTED, gate.acquire("availability:2"));
+        assertEquals(1.0, meterRegistry.get("availability.booking.contention").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void acquire_WhenWaitingTooLong_ShouldGiveUpAndLeaveWaitlist() {
+        BookingContentionGate gate = gate(1, Duration.ofMillis(50));
+        assertEquals(Admission.GRANTED, gate.acquire(SLOT_KEY));
+
+        assertEquals(Admission.CONTENDED, gate.acquire(SLOT_KEY));
+        assertEquals(Admission.CONTENDED, gate.acquire(SLOT_KEY));
+        assertEquals(2.0, meterRegistry.get("availability.booking.contention").tag("outcome", "queued").counter().count());
+    }
+
+    @Test
+    void acquire_WhenInterruptedWhileWaiting_ShouldLeaveWaitlistAndKeepSlotUsable() throws Exception {
+        BookingContentionGate gate = gate(5, Duration.ofSeconds(5));
+        assertEquals(Admission.GRANTED, gate.acquire(SLOT_KEY));
+        Future<Admission> interrupted = executor.submit(() -> {
+            Thread.currentThread().interrupt();
+            Admission admission = gate.acquire(SLOT_KEY);
+            return Thread.currentThread().isInterrupted() ? admission : null;
+        });
+        assertEquals(Admission.CONTENDED, interrupted.get(1, TimeUnit.SECONDS));
+        Future<Admission> next = executor.submit(() -> gate.acquire(SLOT_KEY));
+        awaitQueued(2);
+
+        gate.release(SLOT_KEY, false);
+
+        assertEquals(Admission.GRANTED, next.get(1, TimeUnit.SECONDS));
+        gate.release(SLOT_KEY, false);
+        assertEquals(Admission.GRANTED, gate.acquire(SLOT_KEY));
+    }
+
+    private BookingContentionGate gate(int maxWaiters, Duration maxWait) {
+        return new BookingContentionGate(new BookingContentionProperties(maxWaiters, maxWait), meterRegistry);
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("availability.booking.contention").tag("outcome", "queued").counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.codingchallenge.minidoodlev1.concurrency;
+
+import com.codingchallenge.minidoodlev1.concurrency.DatabaseBulkhead.Access;
+import com.codingchallenge.minidoodlev1.config.DatabaseBulkheadProperties;
+import com.codingchallenge.minidoodlev1.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatabaseBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void call_WhenPermitsExhausted_ShouldRejectAfterMaxWait() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 1, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> holder = executor.submit(() -> bulkhead.call(Access.WRITE, () -> {
+            holding.countDown();
+            await(release);
+            return 1;
+        }));
+        holding.await(1, TimeUnit.SECONDS);
+
+        assertThrows(DatabaseBusyException.class, () -> bulkhead.call(Access.WRITE, () -> 2));
+
+        release.countDown();
+        assertEquals(1, holder.get(1, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.find("database.bulkhead.wait").tags("access", "write", "outcome", "rejected").timer().count());
+        assertEquals(3, bulkhead.call(Access.WRITE, () -> 3));
+    }
+
+    @Test
+    void call_ShouldLimitReadsAndWritesSeparately() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 1, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> bulkhead.call(Access.WRITE, () -> {
+            holding.countDown();
+            await(release);
+            return 1;
+        }));
+        holding.await(1, TimeUnit.SECONDS);
+
+        assertEquals(2, bulkhead.call(Access.READ, () -> 2));
+
+        release.countDown();
+        assertEquals(1, meterRegistry.find("database.bulkhead.wait").tags("access", "read", "outcome", "acquired").timer().count());
+    }
+
+    @Test
+    void call_WhenWorkFails_ShouldReleasePermit() {
+        DatabaseBulkhead bulkhead = bulkhead(1, 1, Duration.ofMillis(50));
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.call(Access.READ, () -> {
+            throw new IllegalStateException("failed");
+        }));
+
+        assertEquals(1, bulkhead.call(Access.READ, () -> 1));
+        assertEquals(1.0, meterRegistry.find("database.bulkhead.available").tag("access", "read").gauge().value());
+    }
+
+    private DatabaseBulkhead bulkhead(int readPermits, int writePermits, Duration maxWait) {
+        return new DatabaseBulkhead(new DatabaseBulkheadProperties(readPermits, writePermits, maxWait), meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.codingchallenge.minidoodlev1.idempotency;
+
+import com.codingchallenge.minidoodlev1.config.IdempotencyProperties;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+
+    private static final String MEETINGS_PATH = "/api/v1/meetings";
+    private static final String REQUEST_BODY = "{\"availabilityId\":1}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyFilter idempotencyFilter;
+    private volatile int responseStatus;
+    private volatile CountDownLatch handlerRelease;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties(IdempotencyProperties.Store.MEMORY,
+                Duration.ofHours(1), 100, Duration.ofSeconds(5));
+        idempotencyFilter = new IdempotencyFilter(new InMemoryIdempotencyStore(properties), JsonMapper.builder().build(), properties);
+        responseStatus = HttpStatus.OK.value();
+        handlerRelease = new CountDownLatch(0);
+    }
+
+    @Test
+    void doFilter_WhenRetriedWithSameKey_ShouldReplayStoredResponse() throws Exception {
+        MockHttpServletResponse first = perform("key-1", REQUEST_BODY);
+        MockHttpServletResponse retry = perform("key-1", REQUEST_BODY);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK.value(), retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void doFilter_WhenKeyReusedForDifferentBody_ShouldRejectWithUnprocessableContent() throws Exception {
+        perform("key-1", REQUEST_BODY);
+
+        MockHttpServletResponse response = perform("key-1", "{\"availabilityId\":2}");
+
+        assertEquals(HttpStatus.UNPROCESSABLE_CONTENT.value(), response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void doFilter_WhenServerError_ShouldNotStoreResponse() throws Exception {
+        responseStatus = HttpStatus.INTERNAL_SERVER_ERROR.value();
+        perform("key-1", REQUEST_BODY);
+        responseStatus = HttpStatus.OK.value();
+
+        MockHttpServletResponse retry = perform("key-1", REQUEST_BODY);
+
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.OK.value(), retry.getStatus());
+    }
+
+    @Test
+    void doFilter_WhenConflict_ShouldNotStoreResponse() throws Exception {
+        responseStatus = HttpStatus.CONFLICT.value();
+        perform("key-1", REQUEST_BODY);
+        responseStatus = HttpStatus.CREATED.value();
+
+        MockHttpServletResponse retry = perform("key-1", REQUEST_BODY);
+
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.CREATED.value(), retry.getStatus());
+    }
+
+    @Test
+    void doFilter_WhenRejectedAsNotFound_ShouldReplayRejection() throws Exception {
+        responseStatus = HttpStatus.NOT_FOUND.value();
+        perform("key-1", REQUEST_BODY);
+
+        MockHttpServletResponse retry = perform("key-1", REQUEST_BODY);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.NOT_FOUND.value(), retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void doFilter_WithoutKey_ShouldRunEveryRequest() throws Exception {
+        perform(null, REQUEST_BODY);
+        perform(null, REQUEST_BODY);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void doFilter_WhenDuplicateArrivesWhileRunning_ShouldWaitForOriginalResult() throws Exception {
+        handlerRelease = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> original = executor.submit(() -> perform("key-1", REQUEST_BODY));
+            while (executions.get() == 0) {
+                Thread.sleep(5);
+            }
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> perform("key-1", REQUEST_BODY));
+            Thread.sleep(50);
+            handlerRelease.countDown();
+
+            assertEquals(HttpStatus.OK.value(), original.get(5, TimeUnit.SECONDS).getStatus());
+            MockHttpServletResponse duplicateResponse = duplicate.get(5, TimeUnit.SECONDS);
+            assertEquals("true", duplicateResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse perform(String idempotencyKey, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", MEETINGS_PATH);
+        request.addHeader("userId", "1");
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, new MockFilterChain(new CreatingServlet()));
+        return response;
+    }
+
+    private final class CreatingServlet extends HttpServlet {
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            int execution = executions.incrementAndGet();
+            String requestBody = new String(request.getInputStream().readAllBytes());
+            assertTrue(requestBody.startsWith("{"));
+            try {
+                handlerRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            response.setStatus(responseStatus);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"id\":" + execution + "}");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.codingchallenge.minidoodlev1.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class JpaStatementMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JpaStatementCounter jpaStatementCounter;
+    private JpaStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jpaStatementCounter = new JpaStatementCounter();
+        filter = new JpaStatementMetricsFilter(jpaStatementCounter, meterRegistry);
+    }
+
+    @Test
+    void doFilter_ShouldRecordStatementsPreparedDuringRequest() throws Exception {
+        jpaStatementCounter.inspect("select 1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/meetings/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (filteredRequest, filteredResponse) -> {
+            filteredRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/meetings/{meetingId}");
+            jpaStatementCounter.inspect("select m from meetings m");
+            jpaStatementCounter.inspect("select p from meetings_participants p");
+            ((MockHttpServletResponse) filteredResponse).setStatus(HttpStatus.NOT_FOUND.value());
+        });
+        jpaStatementCounter.inspect("select 2");
+
+        DistributionSummary summary = meterRegistry.find(JpaStatementMetricsFilter.STATEMENTS_PER_REQUEST)
+                .tags("endpoint", "GET /api/v1/meetings/{meetingId}", "outcome", "CLIENT_ERROR")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    void doFilter_WhenNoHandlerMatched_ShouldTagEndpointAsNone() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/unknown"), new MockHttpServletResponse(), (request, response) -> {
+        });
+
+        DistributionSummary summary = meterRegistry.find(JpaStatementMetricsFilter.STATEMENTS_PER_REQUEST)
+                .tags("endpoint", RequestEndpoints.NONE, "outcome", "SUCCESSFUL")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(0, summary.totalAmount());
+    }
+}
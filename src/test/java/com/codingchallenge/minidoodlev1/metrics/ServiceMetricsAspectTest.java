@@ -0,0 +1,120 @@
+package com.codingchallenge.minidoodlev1.metrics;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPageResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
+import com.codingchallenge.minidoodlev1.service.AvailabilityService;
+import com.codingchallenge.minidoodlev1.service.MeetingService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    private static final AvailabilityCreationRequest CREATION_REQUEST = new AvailabilityCreationRequest(
+            Instant.parse("2030-01-07T09:00:00Z"), Instant.parse("2030-01-07T10:00:00Z"));
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilityService availabilityService;
+    private AvailabilityService proxiedAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityService = mock(AvailabilityService.class);
+        proxiedAvailabilityService = proxy(availabilityService);
+    }
+
+    @Test
+    void timeServiceCall_WhenSuccessful_ShouldTimeCallWithSuccessOutcome() {
+        proxiedAvailabilityService.createAvailability(1L, CREATION_REQUEST);
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("service", "AvailabilityService", "method", "createAvailability", "endpoint", RequestEndpoints.NONE,
+                        "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(0, meterRegistry.find(ServiceMetricsAspect.EXCEPTION_COUNTER).counters().size());
+    }
+
+    @Test
+    void timeServiceCall_WhenConflict_ShouldCountException() {
+        when(availabilityService.createAvailability(any(), any())).thenThrow(new AvailabilityConflictException("conflict"));
+
+        assertThrows(AvailabilityConflictException.class, () -> proxiedAvailabilityService.createAvailability(1L, CREATION_REQUEST));
+
+        assertEquals(1, meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER).tag("outcome", "conflict").timer().count());
+        assertEquals(1, meterRegistry.find(ServiceMetricsAspect.EXCEPTION_COUNTER)
+                .tags("exception", "AvailabilityConflictException", "method", "createAvailability")
+                .counter().count());
+    }
+
+    @Test
+    void timeServiceCall_WhenOverlapRejectedByDatabase_ShouldCountAsConflict() {
+        DataIntegrityViolationException overlap = new DataIntegrityViolationException("overlap",
+                new SQLException("violates exclusion constraint \"excl_availability_owner_overlap\"", "23P01"));
+        when(availabilityService.createAvailability(any(), any())).thenThrow(overlap);
+
+        assertThrows(DataIntegrityViolationException.class, () -> proxiedAvailabilityService.createAvailability(1L, CREATION_REQUEST));
+
+        assertEquals(1, meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER).tag("outcome", "conflict").timer().count());
+        assertEquals(1, meterRegistry.find(ServiceMetricsAspect.EXCEPTION_COUNTER)
+                .tag("exception", "AvailabilityConflictException").counter().count());
+    }
+
+    @Test
+    void timeServiceCall_WhenMeetingNotFound_ShouldTagMeetingService() {
+        MeetingService meetingService = mock(MeetingService.class);
+        when(meetingService.getMeeting(7L)).thenThrow(new ResourceNotFoundException("not found"));
+
+        assertThrows(ResourceNotFoundException.class, () -> proxy(meetingService).getMeeting(7L));
+
+        assertEquals(1, meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("service", "MeetingService", "method", "getMeeting", "outcome", "not_found")
+                .timer().count());
+        assertEquals(1, meterRegistry.find(ServiceMetricsAspect.EXCEPTION_COUNTER)
+                .tag("exception", "ResourceNotFoundException").counter().count());
+    }
+
+    @Test
+    void recordQueryResultSize_ShouldRecordNumberOfReturnedAvailabilities() {
+        AvailabilityResponse availability = new AvailabilityResponse(1L, CREATION_REQUEST.startDateTime(), CREATION_REQUEST.endDateTime(),
+                AvailabilityStatus.FREE, null);
+        when(availabilityService.queryAvailabilities(1L, null, null, null, null, 10))
+                .thenReturn(new AvailabilityPageResponse(List.of(availability, availability, availability), null));
+        when(availabilityService.queryAvailabilities(1L, null, null, null, null, 1))
+                .thenReturn(new AvailabilityPageResponse(List.of(availability), "cursor"));
+
+        proxiedAvailabilityService.queryAvailabilities(1L, null, null, null, null, 10);
+        proxiedAvailabilityService.queryAvailabilities(1L, null, null, null, null, 1);
+
+        DistributionSummary summary = meterRegistry.find(ServiceMetricsAspect.QUERY_RESULT_SIZE).summary();
+        assertEquals(2, summary.count());
+        assertEquals(4, summary.totalAmount());
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        return proxyFactory.getProxy();
+    }
+}
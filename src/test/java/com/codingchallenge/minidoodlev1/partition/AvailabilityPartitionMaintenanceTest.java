@@ -0,0 +1,110 @@
+package com.codingchallenge.minidoodlev1.partition;
+
+import com.codingchallenge.minidoodlev1.cache.AvailabilityIntervalIndex;
+import com.codingchallenge.minidoodlev1.config.AvailabilityPartitionProperties;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityPartitionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AvailabilityPartitionMaintenanceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-03-15T09:00:00Z"), ZoneOffset.UTC);
+
+    private final AvailabilityPartitionRepository availabilityPartitionRepository = mock(AvailabilityPartitionRepository.class);
+    private final AvailabilityIntervalIndex availabilityIntervalIndex = mock(AvailabilityIntervalIndex.class);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(availabilityPartitionRepository.createPartition(any())).thenReturn(true);
+    }
+
+    @Test
+    void maintain_ShouldCreateMissingMonthsAheadAndMonthsOfTheDefaultPartition() {
+        when(availabilityPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2030, 3)));
+        when(availabilityPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of(YearMonth.of(2040, 1)));
+
+        maintenance(new AvailabilityPartitionProperties(2, null, false)).maintain();
+
+        verify(availabilityPartitionRepository, never()).createPartition(YearMonth.of(2030, 3));
+        verify(availabilityPartitionRepository).createPartition(YearMonth.of(2030, 4));
+        verify(availabilityPartitionRepository).createPartition(YearMonth.of(2030, 5));
+        verify(availabilityPartitionRepository).createPartition(YearMonth.of(2040, 1));
+        verify(availabilityPartitionRepository, never()).createPartition(YearMonth.of(2030, 6));
+        verify(availabilityPartitionRepository, never()).removePartition(any(), anyBoolean());
+        assertEquals(3.0, meterRegistry.find(AvailabilityPartitionMaintenance.PARTITIONS).tag("operation", "created").counter().count());
+    }
+
+    @Test
+    void maintain_WhenAttachingAMonthFails_ShouldCreateTheOthersAndRetryItOnTheNextRun() {
+        when(availabilityPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2030, 3)));
+        when(availabilityPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of(YearMonth.of(2040, 1)));
+        when(availabilityPartitionRepository.createPartition(YearMonth.of(2030, 4)))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(true);
+        AvailabilityPartitionMaintenance maintenance = maintenance(new AvailabilityPartitionProperties(1, null, false));
+
+        maintenance.maintain();
+        maintenance.maintain();
+
+        verify(availabilityPartitionRepository, times(2)).createPartition(YearMonth.of(2030, 4));
+        verify(availabilityPartitionRepository, times(2)).createPartition(YearMonth.of(2040, 1));
+        assertEquals(1.0, meterRegistry.find(AvailabilityPartitionMaintenance.PARTITIONS).tag("operation", "failed").counter().count());
+        assertEquals(3.0, meterRegistry.find(AvailabilityPartitionMaintenance.PARTITIONS).tag("operation", "created").counter().count());
+    }
+
+    @Test
+    void maintain_ShouldDropPartitionsOnceTheirLastAvailabilityIsPastRetention() {
+        when(availabilityPartitionRepository.findPartitionMonths()).thenReturn(List.of(
+                YearMonth.of(2029, 11), YearMonth.of(2029, 12), YearMonth.of(2030, 1), YearMonth.of(2030, 2), YearMonth.of(2030, 3)));
+        when(availabilityPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(availabilityPartitionRepository.removePartition(YearMonth.of(2029, 11), true)).thenReturn(List.of(1L, 51L));
+        when(availabilityPartitionRepository.removePartition(YearMonth.of(2029, 12), true)).thenReturn(List.of());
+
+        // The cutoff is 2030-02-13T09:00Z: December ends 2030-01-01, so its rows end by 2030-02-01, January's by 2030-03-04.
+        maintenance(new AvailabilityPartitionProperties(0, Duration.ofDays(30), false)).maintain();
+
+        verify(availabilityPartitionRepository).removePartition(YearMonth.of(2029, 11), true);
+        verify(availabilityPartitionRepository).removePartition(YearMonth.of(2029, 12), true);
+        verify(availabilityPartitionRepository, never()).removePartition(YearMonth.of(2030, 1), true);
+        verify(availabilityIntervalIndex).invalidate(1L);
+        verify(availabilityIntervalIndex).invalidate(51L);
+        assertEquals(2.0, meterRegistry.find(AvailabilityPartitionMaintenance.PARTITIONS).tag("operation", "dropped").counter().count());
+    }
+
+    @Test
+    void maintain_WhenDetachOnly_ShouldKeepTheExpiredPartitionTables() {
+        when(availabilityPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2029, 1), YearMonth.of(2030, 3)));
+        when(availabilityPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(availabilityPartitionRepository.removePartition(YearMonth.of(2029, 1), false)).thenReturn(List.of());
+
+        maintenance(new AvailabilityPartitionProperties(0, Duration.ofDays(30), true)).maintain();
+
+        verify(availabilityPartitionRepository).removePartition(YearMonth.of(2029, 1), false);
+        assertEquals(1.0, meterRegistry.find(AvailabilityPartitionMaintenance.PARTITIONS).tag("operation", "detached").counter().count());
+    }
+
+    private AvailabilityPartitionMaintenance maintenance(AvailabilityPartitionProperties properties) {
+        return new AvailabilityPartitionMaintenance(availabilityPartitionRepository, availabilityIntervalIndex, properties, meterRegistry, CLOCK);
+    }
+}
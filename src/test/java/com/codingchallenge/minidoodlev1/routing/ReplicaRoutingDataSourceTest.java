@@ -0,0 +1,117 @@
+package com.codingchallenge.minidoodlev1.routing;
+
+import com.codingchallenge.minidoodlev1.config.DatasourceRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionExecution;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Instant NOW = Instant.parse("2030-01-01T09:00:00Z");
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private final Clock clock = mock(Clock.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(clock.instant()).thenReturn(NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new ReadYourWritesTracker(new DatasourceRoutingProperties(true, Duration.ofSeconds(5), List.of()), clock);
+        routingDataSource = new ReplicaRoutingDataSource(dataSource(primaryConnection),
+                List.of(replica(firstReplicaConnection), replica(secondReplicaConnection)), tracker, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.clear();
+    }
+
+    @Test
+    void getConnection_ShouldSpreadReadsOverReplicas() throws SQLException {
+        tracker.bind(USER_ID);
+
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+        assertEquals(3.0, meterRegistry.find(ReplicaRoutingDataSource.READ_CONNECTIONS).tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void getConnection_WhenUserWroteWithinWindow_ShouldReadFromPrimary() throws SQLException {
+        tracker.recordWrite(USER_ID);
+
+        tracker.bind(USER_ID);
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        tracker.bind(2L);
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+        assertEquals(1.0, meterRegistry.find(ReplicaRoutingDataSource.READ_CONNECTIONS).tag("target", ReplicaRoutingDataSource.PRIMARY).counter().count());
+    }
+
+    @Test
+    void getConnection_AfterUserCommittedReadWriteTransaction_ShouldReadFromPrimary() throws SQLException {
+        tracker.bind(USER_ID);
+        tracker.afterCommit(transaction(true), null);
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+
+        tracker.afterCommit(transaction(false), null);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_WhenWindowPassed_ShouldReadFromReplicaAgain() throws SQLException {
+        tracker.recordWrite(USER_ID);
+        when(clock.instant()).thenReturn(NOW.plusSeconds(5));
+
+        tracker.bind(USER_ID);
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_WhenNoReplicas_ShouldReadFromPrimary() throws SQLException {
+        ReplicaRoutingDataSource primaryOnly = new ReplicaRoutingDataSource(dataSource(primaryConnection), List.of(), tracker, meterRegistry);
+
+        assertSame(primaryConnection, primaryOnly.getConnection());
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        return transaction;
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static HikariDataSource replica(Connection connection) throws SQLException {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,106 @@
+package com.codingchallenge.minidoodlev1.service.impl;
+
+import com.codingchallenge.minidoodlev1.config.AvailabilityCompactionProperties;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityCompactionServiceImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Instant NINE = Instant.parse("2030-01-07T09:00:00Z");
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private OwnerChangeVersionRepository ownerChangeVersionRepository;
+
+    private AvailabilityCompactionServiceImpl availabilityCompactionService;
+
+    @BeforeEach
+    void setUp() {
+        availabilityCompactionService = new AvailabilityCompactionServiceImpl(availabilityRepository, ownerChangeVersionRepository,
+                new AvailabilityCompactionProperties(true, 50, 500));
+    }
+
+    @Test
+    void compact_ShouldMergeEachRunOfBackToBackSlotsIntoItsFirstRow() {
+        Availability nine = availability(1L, NINE, NINE.plus(Duration.ofHours(1)));
+        Availability ten = availability(2L, NINE.plus(Duration.ofHours(1)), NINE.plus(Duration.ofHours(2)));
+        Availability eleven = availability(3L, NINE.plus(Duration.ofHours(2)), NINE.plus(Duration.ofHours(3)));
+        Availability afternoon = availability(4L, NINE.plus(Duration.ofHours(5)), NINE.plus(Duration.ofHours(6)));
+        Availability evening = availability(5L, NINE.plus(Duration.ofHours(6)), NINE.plus(Duration.ofHours(7)));
+        when(availabilityRepository.tryLockOwner(USER_ID)).thenReturn(true);
+        when(availabilityRepository.lockForCompaction(eq(USER_ID), eq(AvailabilityStatus.FREE), any(), any(), eq(Limit.of(500))))
+                .thenReturn(List.of(nine, ten, eleven, afternoon, evening));
+
+        int merged = availabilityCompactionService.compact(USER_ID);
+
+        assertEquals(3, merged);
+        assertEquals(NINE.plus(Duration.ofHours(3)), nine.getEndDateTime());
+        assertEquals(NINE.plus(Duration.ofHours(7)), afternoon.getEndDateTime());
+        InOrder inOrder = inOrder(availabilityRepository, ownerChangeVersionRepository);
+        inOrder.verify(availabilityRepository).deleteAll(List.of(ten, eleven, evening));
+        inOrder.verify(availabilityRepository).flush();
+        inOrder.verify(ownerChangeVersionRepository).increment(USER_ID);
+    }
+
+    @Test
+    void compact_ShouldNotMergeBeyondMaxDuration() {
+        Instant start = NINE;
+        Availability first = availability(1L, start, start.plus(Availability.MAX_DURATION).minus(Duration.ofHours(1)));
+        Availability second = availability(2L, first.getEndDateTime(), first.getEndDateTime().plus(Duration.ofHours(2)));
+        when(availabilityRepository.tryLockOwner(USER_ID)).thenReturn(true);
+        when(availabilityRepository.lockForCompaction(eq(USER_ID), eq(AvailabilityStatus.FREE), any(), any(), any()))
+                .thenReturn(List.of(first, second));
+
+        assertEquals(0, availabilityCompactionService.compact(USER_ID));
+
+        verify(availabilityRepository, never()).deleteAll(any());
+        verify(ownerChangeVersionRepository, never()).increment(anyLong());
+    }
+
+    @Test
+    void compact_WhenOwnerIsBeingWritten_ShouldSkipOwner() {
+        when(availabilityRepository.tryLockOwner(USER_ID)).thenReturn(false);
+
+        assertEquals(0, availabilityCompactionService.compact(USER_ID));
+
+        verify(availabilityRepository, never()).lockForCompaction(any(), any(), any(), any(), any());
+        verify(ownerChangeVersionRepository, never()).increment(anyLong());
+    }
+
+    private static Availability availability(Long id, Instant startDateTime, Instant endDateTime) {
+        return Availability.builder()
+                .id(id)
+                .ownerId(USER_ID)
+                .startDateTime(startDateTime)
+                .endDateTime(endDateTime)
+                .availabilityStatus(AvailabilityStatus.FREE)
+                .version(0)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.codingchallenge.minidoodlev1.service.impl;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityRuleResponse;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.entity.AvailabilityRule;
+import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityRuleEntityMapper;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityRuleResponseMapper;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import com.codingchallenge.minidoodlev1.repository.AvailabilityRuleRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
+import com.codingchallenge.minidoodlev1.utils.DaysOfWeekMask;
+import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityRuleServiceImplTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long RULE_ID = 7L;
+    private static final String TIME_ZONE = "Europe/Berlin";
+    private static final Set<DayOfWeek> WORKING_DAYS = Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY);
+    private static final LocalDate START_DATE = LocalDate.parse("2030-03-25");
+
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepository;
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private OwnerChangeVersionRepository ownerChangeVersionRepository;
+
+    @Mock
+    private AvailabilityRuleEntityMapper availabilityRuleEntityMapper;
+
+    @Mock
+    private AvailabilityRuleResponseMapper availabilityRuleResponseMapper;
+
+    @InjectMocks
+    private AvailabilityRuleServiceImpl availabilityRuleService;
+
+    @Test
+    void createAvailabilityRule_Success() {
+        AvailabilityRuleCreationRequest request = createRequest(LocalTime.of(14, 0), LocalTime.of(15, 0));
+        AvailabilityRule newRule = createRule(null, LocalTime.of(14, 0), LocalTime.of(15, 0), null);
+        AvailabilityRuleResponse response = new AvailabilityRuleResponse(RULE_ID, WORKING_DAYS, LocalTime.of(14, 0), LocalTime.of(15, 0),
+                TIME_ZONE, START_DATE, null, null);
+        when(availabilityRuleEntityMapper.toEntity(request)).thenReturn(newRule);
+        when(availabilityRuleRepository.findAllByOwnerIdOrderByIdAsc(OWNER_ID))
+                .thenReturn(List.of(createRule(RULE_ID, LocalTime.of(9, 0), LocalTime.of(14, 0), null)));
+        when(availabilityRuleRepository.save(newRule)).thenReturn(newRule);
+        when(availabilityRuleResponseMapper.toResponse(newRule)).thenReturn(response);
+
+        AvailabilityRuleResponse actual = availabilityRuleService.createAvailabilityRule(OWNER_ID, request);
+
+        assertSame(response, actual);
+        assertEquals(OWNER_ID, newRule.getOwnerId());
+        InOrder inOrder = inOrder(availabilityRepository, availabilityRuleRepository);
+        inOrder.verify(availabilityRepository).lockOwner(OWNER_ID);
+        inOrder.verify(availabilityRuleRepository).findAllByOwnerIdOrderByIdAsc(OWNER_ID);
+        inOrder.verify(availabilityRuleRepository).save(newRule);
+        verify(ownerChangeVersionRepository).increment(OWNER_ID);
+    }
+
+    @Test
+    void createAvailabilityRule_ConflictWithExistingRule() {
+        AvailabilityRuleCreationRequest request = createRequest(LocalTime.of(13, 0), LocalTime.of(15, 0));
+        when(availabilityRuleEntityMapper.toEntity(request)).thenReturn(createRule(null, LocalTime.of(13, 0), LocalTime.of(15, 0), null));
+        when(availabilityRuleRepository.findAllByOwnerIdOrderByIdAsc(OWNER_ID))
+                .thenReturn(List.of(createRule(RULE_ID, LocalTime.of(9, 0), LocalTime.of(14, 0), null)));
+
+        AvailabilityConflictException actual = assertThrows(AvailabilityConflictException.class, () ->
+                availabilityRuleService.createAvailabilityRule(OWNER_ID, request));
+
+        assertEquals(ErrorMessages.AVAILABILITY_RULE_CONFLICT_MESSAGE, actual.getMessage());
+        verify(availabilityRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteAvailabilityRule_NotFound() {
+        when(availabilityRuleRepository.existsByIdAndOwnerId(RULE_ID, OWNER_ID)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> availabilityRuleService.deleteAvailabilityRule(OWNER_ID, RULE_ID));
+        verify(availabilityRuleRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void findOccurrences_ExpandsOnlyRequestedWindowAcrossDaylightSavingChange() {
+        AvailabilityRule rule = createRule(RULE_ID, LocalTime.of(9, 0), LocalTime.of(10, 0), null);
+        when(availabilityRuleRepository.findAllByOwnerIdIn(List.of(OWNER_ID))).thenReturn(List.of(rule));
+
+        List<Availability> actual = availabilityRuleService.findOccurrences(List.of(OWNER_ID),
+                Instant.parse("2030-03-25T00:00:00Z"), Instant.parse("2030-04-01T12:00:00Z"));
+
+        assertEquals(List.of(
+                Instant.parse("2030-03-25T08:00:00Z"),
+                Instant.parse("2030-03-27T08:00:00Z"),
+                Instant.parse("2030-04-01T07:00:00Z")), actual.stream().map(Availability::getStartDateTime).toList());
+        assertTrue(actual.stream().allMatch(occurrence -> RULE_ID.equals(occurrence.getRuleId()) && occurrence.getId() == null));
+    }
+
+    @Test
+    void findOccurrences_RespectsOccurrenceCount() {
+        AvailabilityRule rule = createRule(RULE_ID, LocalTime.of(9, 0), LocalTime.of(10, 0), 3);
+        when(availabilityRuleRepository.findAllByOwnerIdIn(List.of(OWNER_ID))).thenReturn(List.of(rule));
+
+        List<Availability> actual = availabilityRuleService.findOccurrences(List.of(OWNER_ID),
+                Instant.parse("2030-03-27T00:00:00Z"), Instant.parse("2030-04-30T00:00:00Z"));
+
+        assertEquals(List.of(Instant.parse("2030-03-27T08:00:00Z"), Instant.parse("2030-04-01T07:00:00Z")),
+                actual.stream().map(Availability::getStartDateTime).toList());
+    }
+
+    @Test
+    void findOccurrence_NotAnOccurrenceStart() {
+        when(availabilityRuleRepository.findById(RULE_ID))
+                .thenReturn(Optional.of(createRule(RULE_ID, LocalTime.of(9, 0), LocalTime.of(10, 0), null)));
+        Instant startDateTime = Instant.parse("2030-03-26T08:00:00Z");
+
+        ResourceNotFoundException actual = assertThrows(ResourceNotFoundException.class, () ->
+                availabilityRuleService.findOccurrence(RULE_ID, startDateTime));
+
+        assertEquals(String.format(ErrorMessages.AVAILABILITY_OCCURRENCE_NOT_FOUND_MESSAGE, RULE_ID, startDateTime), actual.getMessage());
+    }
+
+    private AvailabilityRuleCreationRequest createRequest(LocalTime startTime, LocalTime endTime) {
+        return new AvailabilityRuleCreationRequest(WORKING_DAYS, startTime, endTime, TIME_ZONE, START_DATE, null, null);
+    }
+
+    private AvailabilityRule createRule(Long id, LocalTime startTime, LocalTime endTime, Integer occurrenceCount) {
+        return AvailabilityRule.builder()
+                .id(id)
+                .ownerId(OWNER_ID)
+                .daysOfWeek(DaysOfWeekMask.toMask(WORKING_DAYS))
+                .startTime(startTime)
+                .endTime(endTime)
+                .timeZone(TIME_ZONE)
+                .startDate(START_DATE)
+                .occurrenceCount(occurrenceCount)
+                .build();
+    }
+}
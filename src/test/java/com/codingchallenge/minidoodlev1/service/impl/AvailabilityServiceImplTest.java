@@ -1,35 +1,65 @@
 package com.codingchallenge.minidoodlev1.service.impl;
 
+import com.codingchallenge.minidoodlev1.cache.AvailabilityIntervalIndex;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityBatchCreationResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCursor;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityHeatmapResponse;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityPageResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
 import com.codingchallenge.minidoodlev1.data.dto.AvailabilityUpdateRequest;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotResponse;
+import com.codingchallenge.minidoodlev1.data.dto.CommonSlotSearchRequest;
+import com.codingchallenge.minidoodlev1.data.dto.FreeBusyInterval;
+import com.codingchallenge.minidoodlev1.data.dto.FreeBusyResponse;
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.entity.User;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityInterval;
+import com.codingchallenge.minidoodlev1.data.projection.AvailabilityStatusInterval;
 import com.codingchallenge.minidoodlev1.exception.AvailabilityConflictException;
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
 import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
 import com.codingchallenge.minidoodlev1.mapper.AvailabilityEntityMapper;
 import com.codingchallenge.minidoodlev1.mapper.AvailabilityResponseMapper;
 import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
+import com.codingchallenge.minidoodlev1.repository.UserRepository;
+import com.codingchallenge.minidoodlev1.service.AvailabilityRuleService;
+import com.codingchallenge.minidoodlev1.utils.ConstraintViolations;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -41,6 +71,18 @@ class AvailabilityServiceImplTest {
     @Mock
     private AvailabilityRepository availabilityRepository;
 
+    @Mock
+    private AvailabilityIntervalIndex availabilityIntervalIndex;
+
+    @Mock
+    private AvailabilityRuleService availabilityRuleService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OwnerChangeVersionRepository ownerChangeVersionRepository;
+
     @Mock
     private AvailabilityEntityMapper availabilityEntityMapper;
 
@@ -52,6 +94,7 @@ class AvailabilityServiceImplTest {
 
     private static final Long USER_ID = 1L;
     private static final Long AVAILABILITY_ID = 10L;
+    private static final Long RULE_ID = 30L;
     private static final Instant START_TIME = Instant.parse("2025-12-01T10:00:00Z");
     private static final Instant END_TIME = Instant.parse("2025-12-01T11:00:00Z");
 
@@ -70,15 +113,13 @@ class AvailabilityServiceImplTest {
         availabilityEntity.setEndDateTime(END_TIME);
         availabilityEntity.setAvailabilityStatus(AvailabilityStatus.FREE);
 
-        availabilityResponse = new AvailabilityResponse(AVAILABILITY_ID, START_TIME, END_TIME, AvailabilityStatus.FREE);
+        availabilityResponse = new AvailabilityResponse(AVAILABILITY_ID, START_TIME, END_TIME, AvailabilityStatus.FREE, null);
     }
 
     @Test
     void createAvailability_Success() {
-        when(availabilityRepository.existsByOwnerIdAndStartDateTimeBeforeAndEndDateTimeAfter(eq(USER_ID), eq(END_TIME), eq(START_TIME)))
-                .thenReturn(false);
         when(availabilityEntityMapper.toEntity(creationRequest)).thenReturn(availabilityEntity);
-        when(availabilityRepository.save(any(Availability.class))).thenReturn(availabilityEntity);
+        when(availabilityRepository.saveAndFlush(any(Availability.class))).thenReturn(availabilityEntity);
         when(availabilityResponseMapper.toResponse(availabilityEntity)).thenReturn(availabilityResponse);
 
         AvailabilityResponse actual = availabilityService.createAvailability(USER_ID, creationRequest);
@@ -86,17 +127,98 @@ class AvailabilityServiceImplTest {
         assertNotNull(actual);
         assertEquals(AVAILABILITY_ID, actual.id());
         assertEquals(START_TIME, actual.startDateTime());
+        InOrder inOrder = inOrder(availabilityRepository, availabilityRuleService);
+        inOrder.verify(availabilityRepository).lockOwner(USER_ID);
+        inOrder.verify(availabilityRuleService).findOccurrences(List.of(USER_ID), START_TIME, END_TIME);
+        inOrder.verify(availabilityRepository).saveAndFlush(availabilityEntity);
+        verify(ownerChangeVersionRepository).increment(USER_ID);
     }
 
     @Test
     void createAvailability_Conflict() {
-        when(availabilityRepository.existsByOwnerIdAndStartDateTimeBeforeAndEndDateTimeAfter(eq(USER_ID), eq(END_TIME), eq(START_TIME)))
-                .thenReturn(true);
+        when(availabilityEntityMapper.toEntity(creationRequest)).thenReturn(availabilityEntity);
+        when(availabilityRepository.saveAndFlush(availabilityEntity)).thenThrow(overlapViolation());
 
         assertThrows(AvailabilityConflictException.class, () ->
                 availabilityService.createAvailability(USER_ID, creationRequest));
-        verify(availabilityEntityMapper, never()).toEntity(any());
-        verify(availabilityRepository, never()).save(any());
+        verify(availabilityIntervalIndex, never()).overlaps(any(), any(), any());
+        verify(availabilityIntervalIndex, never()).recordInserted(any(), any(), any());
+    }
+
+    @Test
+    void createAvailability_OtherIntegrityViolationIsNotAConflict() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException("fk", "23503"), "availabilities_owner_id_fkey"));
+        when(availabilityEntityMapper.toEntity(creationRequest)).thenReturn(availabilityEntity);
+        when(availabilityRepository.saveAndFlush(availabilityEntity)).thenThrow(violation);
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                availabilityService.createAvailability(USER_ID, creationRequest));
+    }
+
+    @Test
+    void createAvailability_ConflictWithRuleOccurrence() {
+        Availability occurrence = createOccurrence(START_TIME.minusSeconds(1800), END_TIME.minusSeconds(1800));
+        when(availabilityRuleService.findOccurrences(List.of(USER_ID), START_TIME, END_TIME)).thenReturn(List.of(occurrence));
+        when(availabilityRepository.findOverlappingIntervals(USER_ID, occurrence.getStartDateTime(), occurrence.getEndDateTime()))
+                .thenReturn(List.of());
+
+        assertThrows(AvailabilityConflictException.class, () ->
+                availabilityService.createAvailability(USER_ID, creationRequest));
+        verify(availabilityRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createAvailability_RuleOccurrencesOverriddenByStoredRowsAreCheckedWithOneQuery() {
+        Instant windowEnd = START_TIME.plusSeconds(7200);
+        AvailabilityCreationRequest request = new AvailabilityCreationRequest(START_TIME, windowEnd);
+        Availability first = createOccurrence(START_TIME.minusSeconds(1800), START_TIME.plusSeconds(1800));
+        Availability second = createOccurrence(END_TIME, END_TIME.plusSeconds(3600));
+        when(availabilityRuleService.findOccurrences(List.of(USER_ID), START_TIME, windowEnd)).thenReturn(List.of(first, second));
+        when(availabilityRepository.findOverlappingIntervals(USER_ID, first.getStartDateTime(), second.getEndDateTime()))
+                .thenReturn(List.of(new AvailabilityInterval(20L, START_TIME.minusSeconds(3600), START_TIME),
+                        new AvailabilityInterval(21L, END_TIME, END_TIME.plusSeconds(3600))));
+        when(availabilityEntityMapper.toEntity(request)).thenReturn(availabilityEntity);
+        when(availabilityRepository.saveAndFlush(availabilityEntity)).thenReturn(availabilityEntity);
+
+        availabilityService.createAvailability(USER_ID, request);
+
+        verify(availabilityRepository, times(1)).findOverlappingIntervals(any(), any(), any());
+        verify(availabilityIntervalIndex, never()).overlaps(any(), any(), any());
+    }
+
+    @Test
+    void createAvailabilities_ConflictingItemsAreReportedAndSkipped() {
+        AvailabilityCreationRequest overlapsExisting = new AvailabilityCreationRequest(START_TIME.plusSeconds(1800), END_TIME.plusSeconds(1800));
+        AvailabilityCreationRequest first = new AvailabilityCreationRequest(END_TIME.plusSeconds(3600), END_TIME.plusSeconds(7200));
+        AvailabilityCreationRequest overlapsFirst = new AvailabilityCreationRequest(END_TIME.plusSeconds(5400), END_TIME.plusSeconds(9000));
+        AvailabilityCreationRequest adjacentToFirst = new AvailabilityCreationRequest(END_TIME.plusSeconds(7200), END_TIME.plusSeconds(10800));
+        AvailabilityBatchCreationRequest batchRequest = new AvailabilityBatchCreationRequest(
+                List.of(overlapsExisting, first, overlapsFirst, adjacentToFirst));
+        when(availabilityRepository.findOverlappingIntervals(
+                USER_ID, START_TIME.plusSeconds(1800), END_TIME.plusSeconds(10800)))
+                .thenReturn(List.of(new AvailabilityInterval(AVAILABILITY_ID, START_TIME, END_TIME)));
+        when(availabilityEntityMapper.toEntity(any(AvailabilityCreationRequest.class))).thenAnswer(invocation -> {
+            AvailabilityCreationRequest request = invocation.getArgument(0);
+            return Availability.builder().startDateTime(request.startDateTime()).endDateTime(request.endDateTime()).build();
+        });
+        when(availabilityResponseMapper.toResponse(any(Availability.class))).thenAnswer(invocation -> {
+            Availability availability = invocation.getArgument(0);
+            return new AvailabilityResponse(null, availability.getStartDateTime(), availability.getEndDateTime(), availability.getAvailabilityStatus(), null);
+        });
+
+        AvailabilityBatchCreationResponse actual = availabilityService.createAvailabilities(USER_ID, batchRequest);
+
+        assertEquals(2, actual.createdCount());
+        assertEquals(2, actual.conflictCount());
+        assertNull(actual.items().get(0).availability());
+        assertNotNull(actual.items().get(0).error());
+        assertEquals(first.startDateTime(), actual.items().get(1).availability().startDateTime());
+        assertNull(actual.items().get(2).availability());
+        assertEquals(adjacentToFirst.startDateTime(), actual.items().get(3).availability().startDateTime());
+        assertEquals(AvailabilityStatus.FREE, actual.items().get(3).availability().availabilityStatus());
+        verify(availabilityRepository).saveAll(anyList());
+        verify(availabilityIntervalIndex, never()).overlaps(any(), any(), any());
     }
 
     @Test
@@ -104,20 +226,255 @@ class AvailabilityServiceImplTest {
         Instant queryStart = START_TIME.minusSeconds(3600);
         Instant queryEnd = END_TIME.plusSeconds(3600);
         AvailabilityStatus status = AvailabilityStatus.FREE;
-        List<Availability> entityList = List.of(availabilityEntity);
-        when(availabilityRepository.findAll(any(Specification.class))).thenReturn(entityList);
+        when(availabilityRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of(availabilityEntity));
         when(availabilityResponseMapper.toResponse(availabilityEntity)).thenReturn(availabilityResponse);
 
-        List<AvailabilityResponse> result = availabilityService.queryAvailabilities(USER_ID, queryStart, queryEnd, status);
+        AvailabilityPageResponse result = availabilityService.queryAvailabilities(USER_ID, queryStart, queryEnd, status, null, 10);
 
         assertNotNull(result);
-        assertFalse(result.isEmpty());
-        assertEquals(1, result.size());
-        assertEquals(AVAILABILITY_ID, result.get(0).id());
-        verify(availabilityRepository).findAll(any(Specification.class));
+        assertEquals(1, result.items().size());
+        assertEquals(AVAILABILITY_ID, result.items().get(0).id());
+        assertNull(result.nextCursor());
+        verify(availabilityRepository).findBy(any(Specification.class), any(Function.class));
         verify(availabilityResponseMapper, times(1)).toResponse(availabilityEntity);
     }
 
+    @Test
+    void queryAvailabilities_MergesRuleOccurrencesNotOverriddenByStoredAvailabilities() {
+        Instant queryStart = START_TIME.minusSeconds(7200);
+        Instant queryEnd = END_TIME.plusSeconds(7200);
+        Availability overridden = createOccurrence(START_TIME.minusSeconds(1800), END_TIME.minusSeconds(1800));
+        Availability visible = createOccurrence(END_TIME.plusSeconds(3600), END_TIME.plusSeconds(5400));
+        AvailabilityResponse visibleResponse = new AvailabilityResponse(null, visible.getStartDateTime(), visible.getEndDateTime(), AvailabilityStatus.FREE, RULE_ID);
+        when(availabilityRuleService.findOccurrences(List.of(USER_ID), queryStart, queryEnd)).thenReturn(List.of(overridden, visible));
+        when(availabilityRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of(availabilityEntity));
+        when(availabilityRepository.findOverlappingIntervals(USER_ID, overridden.getStartDateTime(), visible.getEndDateTime()))
+                .thenReturn(List.of(new AvailabilityInterval(AVAILABILITY_ID, START_TIME, END_TIME)));
+        when(availabilityResponseMapper.toResponse(availabilityEntity)).thenReturn(availabilityResponse);
+        when(availabilityResponseMapper.toResponse(visible)).thenReturn(visibleResponse);
+
+        AvailabilityPageResponse result = availabilityService.queryAvailabilities(USER_ID, queryStart, queryEnd, AvailabilityStatus.FREE, null, 10);
+
+        assertEquals(List.of(availabilityResponse, visibleResponse), result.items());
+        verify(availabilityResponseMapper, never()).toResponse(overridden);
+    }
+
+    @Test
+    void queryAvailabilities_BusyStatusSkipsRuleOccurrences() {
+        when(availabilityRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of());
+
+        AvailabilityPageResponse result = availabilityService.queryAvailabilities(USER_ID, START_TIME, END_TIME, AvailabilityStatus.BUSY, null, 10);
+
+        assertTrue(result.items().isEmpty());
+        verify(availabilityRuleService, never()).findOccurrences(any(), any(), any());
+    }
+
+    @Test
+    void queryAvailabilitiesPage_ReturnsCursorOfLastItemWhenMoreRowsExist() {
+        Availability next = Availability.builder().id(AVAILABILITY_ID + 1).startDateTime(END_TIME).endDateTime(END_TIME.plusSeconds(3600))
+                .availabilityStatus(AvailabilityStatus.FREE).build();
+        when(availabilityRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of(availabilityEntity, next));
+        when(availabilityResponseMapper.toResponse(availabilityEntity)).thenReturn(availabilityResponse);
+        when(availabilityResponseMapper.toResponse(next)).thenReturn(
+                new AvailabilityResponse(next.getId(), next.getStartDateTime(), next.getEndDateTime(), AvailabilityStatus.FREE, null));
+
+        AvailabilityPageResponse actual = availabilityService.queryAvailabilities(USER_ID, null, null, null, null, 1);
+
+        assertEquals(List.of(availabilityResponse), actual.items());
+        assertEquals(new AvailabilityCursor(START_TIME, AVAILABILITY_ID), AvailabilityCursor.decode(actual.nextCursor()));
+        verify(availabilityRuleService, never()).findOccurrences(any(), any(), any());
+    }
+
+    @Test
+    void queryAvailabilitiesPage_LastPageHasNoCursor() {
+        when(availabilityRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of(availabilityEntity));
+        when(availabilityResponseMapper.toResponse(availabilityEntity)).thenReturn(availabilityResponse);
+        String cursor = new AvailabilityCursor(START_TIME.minusSeconds(3600), 1L).encode();
+
+        AvailabilityPageResponse actual = availabilityService.queryAvailabilities(USER_ID, null, null, null, cursor, 10);
+
+        assertEquals(List.of(availabilityResponse), actual.items());
+        assertNull(actual.nextCursor());
+    }
+
+    @Test
+    void queryAvailabilitiesPage_MergesRuleOccurrencesUpToFirstRowOutsideThePage() {
+        Instant queryStart = START_TIME.minusSeconds(7200);
+        Instant queryEnd = END_TIME.plusSeconds(7200);
+        Availability occurrence = createOccurrence(START_TIME.minusSeconds(7200), START_TIME.minusSeconds(3600));
+        AvailabilityResponse occurrenceResponse = new AvailabilityResponse(null, occurrence.getStartDateTime(), occurrence.getEndDateTime(),
+                AvailabilityStatus.FREE, RULE_ID);
+        Availability next = Availability.builder().id(AVAILABILITY_ID + 1).startDateTime(END_TIME).endDateTime(END_TIME.plusSeconds(3600))
+                .availabilityStatus(AvailabilityStatus.FREE).build();
+        when(availabilityRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(List.of(availabilityEntity, next));
+        when(availabilityRuleService.findOccurrences(List.of(USER_ID), queryStart, END_TIME.plusNanos(1))).thenReturn(List.of(occurrence));
+        when(availabilityResponseMapper.toResponse(occurrence)).thenReturn(occurrenceResponse);
+        when(availabilityResponseMapper.toResponse(availabilityEntity)).thenReturn(availabilityResponse);
+
+        AvailabilityPageResponse actual = availabilityService.queryAvailabilities(USER_ID, queryStart, queryEnd, null, null, 1);
+
+        assertEquals(List.of(occurrenceResponse), actual.items());
+        assertEquals(new AvailabilityCursor(occurrence.getStartDateTime(), 0L), AvailabilityCursor.decode(actual.nextCursor()));
+    }
+
+    @Test
+    void queryAvailabilitiesPage_InvalidLimitOrCursor() {
+        assertThrows(InvalidRequestParameterException.class, () ->
+                availabilityService.queryAvailabilities(USER_ID, null, null, null, null, 0));
+        assertThrows(InvalidRequestParameterException.class, () ->
+                availabilityService.queryAvailabilities(USER_ID, null, null, null, "not-a-cursor", 10));
+        verify(availabilityRepository, never()).findBy(any(Specification.class), any(Function.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAvailabilities_MapsEveryScrolledRowInOrder() {
+        Availability second = createOccurrence(START_TIME.plusSeconds(3600), END_TIME.plusSeconds(3600));
+        AvailabilityResponse secondResponse = new AvailabilityResponse(null, second.getStartDateTime(), second.getEndDateTime(), AvailabilityStatus.FREE, RULE_ID);
+        Mockito.doAnswer(invocation -> {
+            Consumer<Availability> rowConsumer = invocation.getArgument(3);
+            rowConsumer.accept(availabilityEntity);
+            rowConsumer.accept(second);
+            return null;
+        }).when(availabilityRepository).scrollAll(any(Specification.class), any(), anyInt(), any());
+        when(availabilityResponseMapper.toResponse(availabilityEntity)).thenReturn(availabilityResponse);
+        when(availabilityResponseMapper.toResponse(second)).thenReturn(secondResponse);
+
+        List<AvailabilityResponse> streamed = new ArrayList<>();
+        availabilityService.streamAvailabilities(USER_ID, null, null, null, streamed::add);
+
+        assertEquals(List.of(availabilityResponse, secondResponse), streamed);
+        verify(availabilityRuleService, never()).findOccurrences(any(), any(), any());
+    }
+
+    @Test
+    void getFreeBusy_CoalescesAdjacentSlotsPerStatusAndClipsToWindow() {
+        Instant windowStart = START_TIME.plusSeconds(1800);
+        Instant windowEnd = END_TIME.plusSeconds(4 * 3600);
+        when(availabilityRepository.findStatusIntervals(List.of(USER_ID), windowStart, windowEnd)).thenReturn(List.of(
+                new AvailabilityStatusInterval(USER_ID, START_TIME, END_TIME, AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(USER_ID, END_TIME, END_TIME.plusSeconds(3600), AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(USER_ID, END_TIME.plusSeconds(3600), END_TIME.plusSeconds(7200), AvailabilityStatus.BUSY)));
+        when(availabilityRuleService.findOccurrences(List.of(USER_ID), windowStart, windowEnd)).thenReturn(List.of(
+                createOccurrence(END_TIME.plusSeconds(3600), END_TIME.plusSeconds(7200)),
+                createOccurrence(END_TIME.plusSeconds(3 * 3600), END_TIME.plusSeconds(5 * 3600))));
+
+        FreeBusyResponse result = availabilityService.getFreeBusy(USER_ID, windowStart, windowEnd);
+
+        assertEquals(List.of(
+                new FreeBusyInterval(windowStart, END_TIME.plusSeconds(3600)),
+                new FreeBusyInterval(END_TIME.plusSeconds(3 * 3600), windowEnd)), result.free());
+        assertEquals(List.of(new FreeBusyInterval(END_TIME.plusSeconds(3600), END_TIME.plusSeconds(7200))), result.busy());
+    }
+
+    @Test
+    void getHeatmap_CountsOwnersFreeForWholeBuckets() {
+        Instant windowStart = Instant.parse("2030-01-01T09:00:00Z");
+        Instant windowEnd = windowStart.plusSeconds(3600);
+        List<Long> ownerIds = List.of(1L, 2L, 3L);
+        when(availabilityRepository.findStatusIntervals(ownerIds, windowStart, windowEnd)).thenReturn(List.of(
+                new AvailabilityStatusInterval(1L, windowStart.minusSeconds(600), windowStart.plusSeconds(1800), AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(2L, windowStart.plusSeconds(600), windowStart.plusSeconds(1800), AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(2L, windowStart.plusSeconds(1800), windowEnd, AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(3L, windowStart, windowEnd, AvailabilityStatus.BUSY)));
+
+        AvailabilityHeatmapResponse result = availabilityService.getHeatmap(List.of(1L, 2L, 3L, 2L), windowStart, windowEnd, 15);
+
+        assertEquals(3, result.ownerCount());
+        assertArrayEquals(new int[]{1, 2, 1, 1}, result.freeCounts());
+    }
+
+    @Test
+    void getHeatmap_CountsBackToBackSlotsFillingBucketTogether() {
+        Instant windowStart = Instant.parse("2030-01-01T09:00:00Z");
+        Instant windowEnd = windowStart.plusSeconds(1800);
+        List<Long> ownerIds = List.of(USER_ID);
+        when(availabilityRepository.findStatusIntervals(ownerIds, windowStart, windowEnd)).thenReturn(List.of(
+                new AvailabilityStatusInterval(USER_ID, windowStart, windowStart.plusSeconds(600), AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(USER_ID, windowStart.plusSeconds(600), windowStart.plusSeconds(1200), AvailabilityStatus.FREE)));
+
+        AvailabilityHeatmapResponse result = availabilityService.getHeatmap(ownerIds, windowStart, windowEnd, 15);
+
+        assertArrayEquals(new int[]{1, 0}, result.freeCounts());
+    }
+
+    @Test
+    void getHeatmap_AddsUpManyOwnersAcrossWords() {
+        Instant windowStart = Instant.parse("2030-01-01T00:00:00Z");
+        Instant windowEnd = windowStart.plusSeconds(24 * 3600 + 600);
+        List<Long> ownerIds = new ArrayList<>();
+        List<AvailabilityStatusInterval> intervals = new ArrayList<>();
+        for (long ownerId = 1; ownerId <= 300; ownerId++) {
+            ownerIds.add(ownerId);
+            intervals.add(new AvailabilityStatusInterval(ownerId, windowStart.plusSeconds(ownerId % 97 * 900), windowEnd, AvailabilityStatus.FREE));
+        }
+        when(availabilityRepository.findStatusIntervals(ownerIds, windowStart, windowEnd)).thenReturn(intervals);
+
+        AvailabilityHeatmapResponse result = availabilityService.getHeatmap(ownerIds, windowStart, windowEnd, 15);
+
+        int[] expected = new int[97];
+        for (long ownerId = 1; ownerId <= 300; ownerId++) {
+            for (int bucket = (int) (ownerId % 97); bucket < expected.length; bucket++) {
+                expected[bucket]++;
+            }
+        }
+        assertArrayEquals(expected, result.freeCounts());
+    }
+
+    @Test
+    void getHeatmap_InvalidOwnersOrBuckets() {
+        assertThrows(InvalidRequestParameterException.class, () -> availabilityService.getHeatmap(List.of(), START_TIME, END_TIME, 15));
+        assertThrows(InvalidRequestParameterException.class, () -> availabilityService.getHeatmap(List.of(USER_ID), START_TIME, END_TIME, 0));
+        assertThrows(InvalidRequestParameterException.class, () ->
+                availabilityService.getHeatmap(List.of(USER_ID), START_TIME, START_TIME.plusSeconds(200L * 24 * 3600), 15));
+        verify(availabilityRepository, never()).findStatusIntervals(any(), any(), any());
+    }
+
+    @Test
+    void getFreeBusy_InvalidWindow() {
+        assertThrows(InvalidRequestParameterException.class, () -> availabilityService.getFreeBusy(USER_ID, END_TIME, START_TIME));
+        assertThrows(InvalidRequestParameterException.class, () ->
+                availabilityService.getFreeBusy(USER_ID, START_TIME, START_TIME.plusSeconds(367L * 24 * 3600)));
+        verify(availabilityRepository, never()).findStatusIntervals(any(), any(), any());
+    }
+
+    @Test
+    void findCommonSlots_IntersectsFreeTimeOfAllParticipants() {
+        Long otherUserId = 2L;
+        Instant windowEnd = START_TIME.plusSeconds(8 * 3600);
+        CommonSlotSearchRequest request = new CommonSlotSearchRequest(List.of("a@test.com", "b@test.com"), START_TIME, windowEnd, 30, null, null);
+        when(userRepository.findAllByNaturalIdIn(Set.of("a@test.com", "b@test.com"))).thenReturn(List.of(
+                User.builder().id(USER_ID).email("a@test.com").build(),
+                User.builder().id(otherUserId).email("b@test.com").build()));
+        when(availabilityRepository.findStatusIntervals(List.of(USER_ID, otherUserId), START_TIME, windowEnd)).thenReturn(List.of(
+                new AvailabilityStatusInterval(USER_ID, START_TIME, START_TIME.plusSeconds(3 * 3600), AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(USER_ID, START_TIME.plusSeconds(4 * 3600), START_TIME.plusSeconds(5 * 3600), AvailabilityStatus.BUSY),
+                new AvailabilityStatusInterval(otherUserId, START_TIME.plusSeconds(3600), START_TIME.plusSeconds(2 * 3600), AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(otherUserId, START_TIME.plusSeconds(2 * 3600), START_TIME.plusSeconds(9000), AvailabilityStatus.FREE),
+                new AvailabilityStatusInterval(otherUserId, START_TIME.plusSeconds(4 * 3600), START_TIME.plusSeconds(6 * 3600), AvailabilityStatus.FREE)));
+        when(availabilityRuleService.findOccurrences(List.of(USER_ID, otherUserId), START_TIME, windowEnd)).thenReturn(List.of(
+                createOccurrence(START_TIME.plusSeconds(4 * 3600), START_TIME.plusSeconds(5 * 3600)),
+                createOccurrence(START_TIME.plusSeconds(5 * 3600), START_TIME.plusSeconds(5 * 3600 + 600))));
+
+        List<CommonSlotResponse> result = availabilityService.findCommonSlots(request);
+
+        assertEquals(List.of(new CommonSlotResponse(START_TIME.plusSeconds(3600), START_TIME.plusSeconds(9000), 2)), result);
+    }
+
+    @Test
+    void findCommonSlots_UnknownParticipantOrInvalidQuorum() {
+        when(userRepository.findAllByNaturalIdIn(Set.of("a@test.com", "b@test.com")))
+                .thenReturn(List.of(User.builder().id(USER_ID).email("a@test.com").build()));
+
+        ResourceNotFoundException actual = assertThrows(ResourceNotFoundException.class, () -> availabilityService.findCommonSlots(
+                new CommonSlotSearchRequest(List.of("a@test.com", "b@test.com"), START_TIME, END_TIME, 30, 1, null)));
+        assertTrue(actual.getMessage().contains("b@test.com"));
+        assertFalse(actual.getMessage().contains("a@test.com"));
+        assertThrows(InvalidRequestParameterException.class, () -> availabilityService.findCommonSlots(
+                new CommonSlotSearchRequest(List.of("a@test.com", "b@test.com"), START_TIME, END_TIME, 30, 3, null)));
+        verify(availabilityRepository, never()).findStatusIntervals(any(), any(), any());
+    }
+
     @Test
     void deleteAvailability_Success() {
         when(availabilityRepository.existsByIdAndOwnerId(AVAILABILITY_ID, USER_ID)).thenReturn(true);
@@ -126,6 +483,7 @@ class AvailabilityServiceImplTest {
 
         verify(availabilityRepository).existsByIdAndOwnerId(AVAILABILITY_ID, USER_ID);
         verify(availabilityRepository).deleteById(AVAILABILITY_ID);
+        verify(ownerChangeVersionRepository).increment(USER_ID);
     }
 
     @Test
@@ -137,6 +495,16 @@ class AvailabilityServiceImplTest {
 
         assertTrue(actual.getMessage().contains(AVAILABILITY_ID.toString()));
         verify(availabilityRepository, never()).deleteById(any());
+        verify(ownerChangeVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    void getChangeVersion_DefaultsToZeroForUnchangedCalendar() {
+        when(ownerChangeVersionRepository.findVersionByOwnerId(USER_ID)).thenReturn(Optional.of(7L));
+        when(ownerChangeVersionRepository.findVersionByOwnerId(2L)).thenReturn(Optional.empty());
+
+        assertEquals(7L, availabilityService.getChangeVersion(USER_ID));
+        assertEquals(0L, availabilityService.getChangeVersion(2L));
     }
 
     @Test
@@ -149,11 +517,9 @@ class AvailabilityServiceImplTest {
         updatedEntity.setStartDateTime(newStart);
         updatedEntity.setEndDateTime(newEnd);
         updatedEntity.setAvailabilityStatus(newStatus);
-        AvailabilityResponse updatedResponse = new AvailabilityResponse(AVAILABILITY_ID, newStart, newEnd, AvailabilityStatus.FREE);
+        AvailabilityResponse updatedResponse = new AvailabilityResponse(AVAILABILITY_ID, newStart, newEnd, AvailabilityStatus.FREE, null);
         when(availabilityRepository.findByIdAndOwnerId(AVAILABILITY_ID, USER_ID)).thenReturn(Optional.of(availabilityEntity));
-        when(availabilityRepository.existsByOwnerIdAndStartDateTimeBeforeAndEndDateTimeAfter(eq(USER_ID), eq(newEnd), eq(newStart)))
-                .thenReturn(false);
-        when(availabilityRepository.save(any(Availability.class))).thenReturn(updatedEntity);
+        when(availabilityRepository.saveAndFlush(any(Availability.class))).thenReturn(updatedEntity);
         when(availabilityResponseMapper.toResponse(updatedEntity)).thenReturn(updatedResponse);
 
         AvailabilityResponse result = availabilityService.updateAvailability(USER_ID, AVAILABILITY_ID, updateRequest);
@@ -164,8 +530,11 @@ class AvailabilityServiceImplTest {
         assertEquals(newStart, availabilityEntity.getStartDateTime());
         assertEquals(newEnd, availabilityEntity.getEndDateTime());
         assertEquals(newStatus, availabilityEntity.getAvailabilityStatus());
-        verify(availabilityRepository).findByIdAndOwnerId(AVAILABILITY_ID, USER_ID);
-        verify(availabilityRepository).save(availabilityEntity);
+        InOrder inOrder = inOrder(availabilityRepository, availabilityRuleService);
+        inOrder.verify(availabilityRepository).findByIdAndOwnerId(AVAILABILITY_ID, USER_ID);
+        inOrder.verify(availabilityRepository).lockOwner(USER_ID);
+        inOrder.verify(availabilityRuleService).findOccurrences(List.of(USER_ID), newStart, newEnd);
+        inOrder.verify(availabilityRepository).saveAndFlush(availabilityEntity);
     }
 
     @Test
@@ -177,7 +546,7 @@ class AvailabilityServiceImplTest {
                 availabilityService.updateAvailability(USER_ID, AVAILABILITY_ID, updateRequest));
 
         assertTrue(actual.getMessage().contains(AVAILABILITY_ID.toString()));
-        verify(availabilityRepository, never()).save(any());
+        verify(availabilityRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -186,11 +555,25 @@ class AvailabilityServiceImplTest {
         Instant conflictEnd = Instant.parse("2025-12-02T13:00:00Z");
         AvailabilityUpdateRequest updateRequest = new AvailabilityUpdateRequest(conflictStart, conflictEnd, AvailabilityStatus.BUSY);
         when(availabilityRepository.findByIdAndOwnerId(AVAILABILITY_ID, USER_ID)).thenReturn(Optional.of(availabilityEntity));
-        when(availabilityRepository.existsByOwnerIdAndStartDateTimeBeforeAndEndDateTimeAfter(eq(USER_ID), eq(conflictEnd), eq(conflictStart)))
-                .thenReturn(true);
+        when(availabilityRepository.saveAndFlush(availabilityEntity)).thenThrow(overlapViolation());
 
         assertThrows(AvailabilityConflictException.class, () ->
                 availabilityService.updateAvailability(USER_ID, AVAILABILITY_ID, updateRequest));
-        verify(availabilityRepository, never()).save(any());
+        verify(availabilityIntervalIndex, never()).invalidate(any());
+    }
+
+    private static DataIntegrityViolationException overlapViolation() {
+        return new DataIntegrityViolationException("overlap", new ConstraintViolationException("overlap",
+                new SQLException("overlap", "23P01"), ConstraintViolations.AVAILABILITY_OVERLAP_CONSTRAINT));
+    }
+
+    private static Availability createOccurrence(Instant startDateTime, Instant endDateTime) {
+        return Availability.builder()
+                .ownerId(USER_ID)
+                .ruleId(RULE_ID)
+                .startDateTime(startDateTime)
+                .endDateTime(endDateTime)
+                .availabilityStatus(AvailabilityStatus.FREE)
+                .build();
     }
 }
@@ -1,34 +1,52 @@
 package com.codingchallenge.minidoodlev1.service.impl;
 
+import com.codingchallenge.minidoodlev1.cache.AvailabilityIntervalIndex;
+import com.codingchallenge.minidoodlev1.concurrency.BookingContentionGate;
+import com.codingchallenge.minidoodlev1.concurrency.DatabaseBulkhead;
 import com.codingchallenge.minidoodlev1.data.dto.MeetingCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingCursor;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingPageResponse;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingParticipantsRequest;
+import com.codingchallenge.minidoodlev1.data.dto.MeetingResponse;
 import com.codingchallenge.minidoodlev1.data.entity.Availability;
 import com.codingchallenge.minidoodlev1.data.entity.Meeting;
 import com.codingchallenge.minidoodlev1.data.entity.User;
 import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
 import com.codingchallenge.minidoodlev1.exception.AvailabilityBookedException;
+import com.codingchallenge.minidoodlev1.exception.DatabaseBusyException;
+import com.codingchallenge.minidoodlev1.exception.InvalidRequestParameterException;
 import com.codingchallenge.minidoodlev1.exception.ResourceNotFoundException;
 import com.codingchallenge.minidoodlev1.mapper.MeetingResponseMapper;
 import com.codingchallenge.minidoodlev1.repository.AvailabilityRepository;
 import com.codingchallenge.minidoodlev1.repository.MeetingRepository;
+import com.codingchallenge.minidoodlev1.repository.OwnerChangeVersionRepository;
 import com.codingchallenge.minidoodlev1.repository.UserRepository;
+import com.codingchallenge.minidoodlev1.service.AvailabilityRuleService;
 import com.codingchallenge.minidoodlev1.utils.ErrorMessages;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -54,44 +72,80 @@ class MeetingServiceImplTest {
 
     private static final Long AVAILABILITY_ID = 100L;
 
+    private static final Long RULE_ID = 300L;
+    private static final Instant OCCURRENCE_START = Instant.parse("2030-01-07T09:00:00Z");
+    private static final Instant OCCURRENCE_END = Instant.parse("2030-01-07T10:00:00Z");
+
     @Mock
     private MeetingRepository meetingRepository;
 
     @Mock
     private AvailabilityRepository availabilityRepository;
 
+    @Mock
+    private AvailabilityIntervalIndex availabilityIntervalIndex;
+
+    @Mock
+    private OwnerChangeVersionRepository ownerChangeVersionRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AvailabilityRuleService availabilityRuleService;
+
     @Mock
     private MeetingResponseMapper meetingResponseMapper;
 
+    @Mock
+    private BookingContentionGate bookingContentionGate;
+
+    @Mock
+    private DatabaseBulkhead databaseBulkhead;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private MeetingServiceImpl meetingService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(bookingContentionGate.acquire(any())).thenReturn(BookingContentionGate.Admission.GRANTED);
+        lenient().when(databaseBulkhead.call(any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
-    void createMeeting_Success_ShouldSaveAndReturnResponse() {
-        Availability freeAvailability = createFreeAvailability();
-        when(availabilityRepository.findOne(any(Specification.class))).thenReturn(Optional.of(freeAvailability));
+    void createMeeting_Success_ShouldClaimSlotAndSaveMeeting() {
+        when(availabilityRepository.claimFree(AVAILABILITY_ID)).thenReturn(Optional.of(ORGANIZER_ID));
         User organizer = createOrganizer();
-        when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(organizer));
         User participant = createParticipant();
-        when(userRepository.findAllByEmailIn(anyList())).thenReturn(new ArrayList<>(List.of(participant)));
+        when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(organizer));
+        when(userRepository.findAllByNaturalIdIn(List.of(PARTICIPANT_EMAIL))).thenReturn(List.of(participant));
         Meeting savedMeeting = createSavedMeeting();
         when(meetingRepository.save(any(Meeting.class))).thenReturn(savedMeeting);
         MeetingCreationRequest meetingCreationRequest = createMeetingCreationRequest();
 
         meetingService.createMeeting(ORGANIZER_ID, meetingCreationRequest);
 
-        assertEquals(AvailabilityStatus.BUSY, freeAvailability.getAvailabilityStatus());
-        verify(meetingRepository, times(1)).save(any(Meeting.class));
-        verify(availabilityRepository, times(1)).save(freeAvailability);
+        ArgumentCaptor<Meeting> meetingCaptor = ArgumentCaptor.forClass(Meeting.class);
+        verify(meetingRepository, times(1)).save(meetingCaptor.capture());
+        assertEquals(organizer, meetingCaptor.getValue().getOrganizer());
+        assertEquals(Set.of(organizer, participant), meetingCaptor.getValue().getParticipants());
+        verify(availabilityRepository, never()).save(any(Availability.class));
+        verify(availabilityRepository, never()).findById(any());
         verify(meetingResponseMapper, times(1)).toResponse(savedMeeting);
+        verify(ownerChangeVersionRepository, times(1)).increment(ORGANIZER_ID);
+        verify(bookingContentionGate, times(1)).release("availability:" + AVAILABILITY_ID, true);
     }
 
     @Test
-    void createMeeting_WhenAvailabilityNotFoundOrNotFree_ShouldThrowResourceNotFoundException() {
-        when(availabilityRepository.findOne(any(Specification.class))).thenReturn(Optional.empty());
+    void createMeeting_WhenAvailabilityNotFound_ShouldThrowResourceNotFoundException() {
+        when(availabilityRepository.claimFree(AVAILABILITY_ID)).thenReturn(Optional.empty());
+        when(availabilityRepository.existsById(AVAILABILITY_ID)).thenReturn(false);
         MeetingCreationRequest meetingCreationRequest = createMeetingCreationRequest();
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -100,13 +154,13 @@ class MeetingServiceImplTest {
 
         assertEquals(String.format(ErrorMessages.AVAILABILITY_NOT_FOUND_MESSAGE, AVAILABILITY_ID), exception.getMessage());
         verify(meetingRepository, never()).save(any(Meeting.class));
-        verify(availabilityRepository, never()).save(any(Availability.class));
+        verifyNoInteractions(userRepository);
+        verify(bookingContentionGate, times(1)).release("availability:" + AVAILABILITY_ID, false);
     }
 
     @Test
     void createMeeting_WhenOrganizerNotFound_ShouldThrowResourceNotFoundException() {
-        Availability freeAvailability = createFreeAvailability();
-        when(availabilityRepository.findOne(any(Specification.class))).thenReturn(Optional.of(freeAvailability));
+        when(availabilityRepository.claimFree(AVAILABILITY_ID)).thenReturn(Optional.of(ORGANIZER_ID));
         when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.empty());
         MeetingCreationRequest meetingCreationRequest = createMeetingCreationRequest();
 
@@ -116,31 +170,192 @@ class MeetingServiceImplTest {
 
         assertEquals(String.format(ErrorMessages.USER_NOT_FOUND_MESSAGE, ORGANIZER_ID), exception.getMessage());
         verify(meetingRepository, never()).save(any(Meeting.class));
-        verify(availabilityRepository, never()).save(any(Availability.class));
     }
 
     @Test
-    void createMeeting_WhenOptimisticLockingFails_ShouldThrowAvailabilityBookedException() {
-        Availability freeAvailability = createFreeAvailability();
-        when(availabilityRepository.findOne(any(Specification.class))).thenReturn(Optional.of(freeAvailability));
-        User organizer = createOrganizer();
-        when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(organizer));
-        User participant = createParticipant();
-        when(userRepository.findAllByEmailIn(anyList())).thenReturn(new ArrayList<>(List.of(participant)));
-        Meeting savedMeeting = createSavedMeeting();
-        when(meetingRepository.save(any(Meeting.class))).thenReturn(savedMeeting);
+    void createMeeting_WhenSlotAlreadyClaimed_ShouldFailBeforeAnyOtherWork() {
+        when(availabilityRepository.claimFree(AVAILABILITY_ID)).thenReturn(Optional.empty());
+        when(availabilityRepository.existsById(AVAILABILITY_ID)).thenReturn(true);
         MeetingCreationRequest meetingCreationRequest = createMeetingCreationRequest();
-        doThrow(ObjectOptimisticLockingFailureException.class)
-                .when(availabilityRepository).save(any(Availability.class));
 
         AvailabilityBookedException exception = assertThrows(AvailabilityBookedException.class, () -> {
             meetingService.createMeeting(ORGANIZER_ID, meetingCreationRequest);
         });
 
         assertEquals(String.format(ErrorMessages.AVAILABILITY_BOOKED_MESSAGE, AVAILABILITY_ID), exception.getMessage());
-        verify(meetingRepository, times(1)).save(any(Meeting.class));
-        verify(availabilityRepository, times(1)).save(any(Availability.class));
-        verifyNoInteractions(meetingResponseMapper);
+        verifyNoInteractions(userRepository, meetingRepository, meetingResponseMapper);
+        verify(bookingContentionGate, times(1)).release("availability:" + AVAILABILITY_ID, true);
+    }
+
+    @Test
+    void createMeeting_WhenSlotTakenWhileWaiting_ShouldNotTouchDatabase() {
+        when(bookingContentionGate.acquire("availability:" + AVAILABILITY_ID)).thenReturn(BookingContentionGate.Admission.TAKEN);
+        MeetingCreationRequest meetingCreationRequest = createMeetingCreationRequest();
+
+        AvailabilityBookedException exception = assertThrows(AvailabilityBookedException.class, () ->
+                meetingService.createMeeting(ORGANIZER_ID, meetingCreationRequest));
+
+        assertEquals(String.format(ErrorMessages.AVAILABILITY_BOOKED_MESSAGE, AVAILABILITY_ID), exception.getMessage());
+        verifyNoInteractions(transactionTemplate, availabilityRepository, userRepository, meetingRepository);
+        verify(bookingContentionGate, never()).release(any(), any(Boolean.class));
+    }
+
+    @Test
+    void createMeeting_WhenDatabaseBusy_ShouldHandSlotToNextWaiter() {
+        doThrow(new DatabaseBusyException(ErrorMessages.DATABASE_BUSY_MESSAGE)).when(databaseBulkhead).call(any(), any());
+        MeetingCreationRequest meetingCreationRequest = createMeetingCreationRequest();
+
+        assertThrows(DatabaseBusyException.class, () -> meetingService.createMeeting(ORGANIZER_ID, meetingCreationRequest));
+
+        verify(databaseBulkhead, times(1)).call(any(DatabaseBulkhead.Access.class), any());
+        verifyNoInteractions(transactionTemplate, availabilityRepository);
+        verify(bookingContentionGate, times(1)).release("availability:" + AVAILABILITY_ID, false);
+    }
+
+    @Test
+    void createMeeting_WhenWaitlistFull_ShouldRejectWithoutTouchingDatabase() {
+        when(bookingContentionGate.acquire("rule:" + RULE_ID + "@" + OCCURRENCE_START)).thenReturn(BookingContentionGate.Admission.CONTENDED);
+
+        AvailabilityBookedException exception = assertThrows(AvailabilityBookedException.class, () ->
+                meetingService.createMeeting(ORGANIZER_ID, createOccurrenceMeetingCreationRequest()));
+
+        assertEquals(ErrorMessages.AVAILABILITY_CONTENDED_MESSAGE, exception.getMessage());
+        verifyNoInteractions(transactionTemplate, availabilityRuleService, availabilityRepository, userRepository);
+    }
+
+    @Test
+    void createMeeting_ForRuleOccurrence_ShouldMaterializeBusyAvailability() {
+        Availability occurrence = createOccurrence();
+        when(availabilityRuleService.findOccurrence(RULE_ID, OCCURRENCE_START)).thenReturn(occurrence);
+        when(availabilityIntervalIndex.overlaps(ORGANIZER_ID, OCCURRENCE_START, OCCURRENCE_END))
+                .thenReturn(false);
+        when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(createOrganizer()));
+        when(userRepository.findAllByNaturalIdIn(List.of(PARTICIPANT_EMAIL))).thenReturn(List.of(createParticipant()));
+        Meeting savedMeeting = createSavedMeeting();
+        when(meetingRepository.save(any(Meeting.class))).thenReturn(savedMeeting);
+
+        meetingService.createMeeting(ORGANIZER_ID, createOccurrenceMeetingCreationRequest());
+
+        assertEquals(AvailabilityStatus.BUSY, occurrence.getAvailabilityStatus());
+        verify(availabilityRepository, times(1)).saveAndFlush(occurrence);
+        verify(availabilityRepository, never()).claimFree(any());
+        verify(meetingResponseMapper, times(1)).toResponse(savedMeeting);
+        verify(ownerChangeVersionRepository, times(1)).increment(ORGANIZER_ID);
+    }
+
+    @Test
+    void createMeeting_WhenRuleOccurrenceOverridden_ShouldThrowAvailabilityBookedException() {
+        when(availabilityRuleService.findOccurrence(RULE_ID, OCCURRENCE_START)).thenReturn(createOccurrence());
+        when(availabilityIntervalIndex.overlaps(ORGANIZER_ID, OCCURRENCE_START, OCCURRENCE_END))
+                .thenReturn(true);
+
+        AvailabilityBookedException exception = assertThrows(AvailabilityBookedException.class, () ->
+                meetingService.createMeeting(ORGANIZER_ID, createOccurrenceMeetingCreationRequest()));
+
+        assertEquals(String.format(ErrorMessages.AVAILABILITY_OCCURRENCE_BOOKED_MESSAGE, RULE_ID, OCCURRENCE_START), exception.getMessage());
+        verify(meetingRepository, never()).save(any(Meeting.class));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void createMeeting_WhenRuleOccurrenceMaterializedConcurrently_ShouldThrowAvailabilityBookedException() {
+        when(availabilityRuleService.findOccurrence(RULE_ID, OCCURRENCE_START)).thenReturn(createOccurrence());
+        when(availabilityIntervalIndex.overlaps(ORGANIZER_ID, OCCURRENCE_START, OCCURRENCE_END))
+                .thenReturn(false);
+        doThrow(DataIntegrityViolationException.class).when(availabilityRepository).saveAndFlush(any(Availability.class));
+
+        assertThrows(AvailabilityBookedException.class, () ->
+                meetingService.createMeeting(ORGANIZER_ID, createOccurrenceMeetingCreationRequest()));
+        verifyNoInteractions(userRepository, meetingRepository, meetingResponseMapper);
+    }
+
+    @Test
+    void getMeeting_WhenMeetingNotFound_ShouldThrowResourceNotFoundException() {
+        when(meetingRepository.findWithOrganizerAndParticipantsById(MEETING_ID)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> meetingService.getMeeting(MEETING_ID));
+
+        assertEquals(String.format(ErrorMessages.MEETING_NOT_FOUND_MESSAGE, MEETING_ID), exception.getMessage());
+    }
+
+    @Test
+    void queryMeetings_WhenMoreMeetingsThanLimit_ShouldReturnNextCursor() {
+        Meeting first = createSavedMeeting();
+        Meeting second = createSavedMeeting();
+        second.setId(MEETING_ID + 1);
+        when(meetingRepository.findPageByParticipantId(PARTICIPANT_ID, MEETING_ID - 1, Limit.of(2))).thenReturn(List.of(first, second));
+        MeetingResponse firstResponse = new MeetingResponse(MEETING_ID, MEETING_TITLE, MEETING_DESCRIPTION, null, List.of());
+        when(meetingResponseMapper.toResponse(first)).thenReturn(firstResponse);
+
+        MeetingPageResponse page = meetingService.queryMeetings(PARTICIPANT_ID, new MeetingCursor(MEETING_ID - 1).encode(), 1);
+
+        assertEquals(List.of(firstResponse), page.items());
+        assertEquals(MEETING_ID, MeetingCursor.decode(page.nextCursor()).id());
+    }
+
+    @Test
+    void queryMeetings_OnLastPage_ShouldReturnNoCursor() {
+        when(meetingRepository.findPageByParticipantId(PARTICIPANT_ID, 0L, Limit.of(21))).thenReturn(List.of(createSavedMeeting()));
+
+        MeetingPageResponse page = meetingService.queryMeetings(PARTICIPANT_ID, null, 20);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void queryMeetings_WhenLimitOutOfRange_ShouldThrowInvalidRequestParameterException() {
+        assertThrows(InvalidRequestParameterException.class, () -> meetingService.queryMeetings(PARTICIPANT_ID, null, 101));
+        verifyNoInteractions(meetingRepository);
+    }
+
+    @Test
+    void addParticipants_ShouldInsertResolvedUsersWithOneStatement() {
+        when(meetingRepository.existsByIdAndOrganizerId(MEETING_ID, ORGANIZER_ID)).thenReturn(true);
+        when(userRepository.findAllByNaturalIdIn(Set.of(PARTICIPANT_EMAIL))).thenReturn(List.of(createParticipant()));
+        Meeting meeting = createSavedMeeting();
+        when(meetingRepository.findWithOrganizerAndParticipantsById(MEETING_ID)).thenReturn(Optional.of(meeting));
+        when(meetingResponseMapper.toResponse(meeting)).thenReturn(new MeetingResponse(MEETING_ID, MEETING_TITLE, MEETING_DESCRIPTION, null, List.of()));
+
+        meetingService.addParticipants(ORGANIZER_ID, MEETING_ID, new MeetingParticipantsRequest(List.of(PARTICIPANT_EMAIL, PARTICIPANT_EMAIL)));
+
+        verify(meetingRepository, times(1)).addParticipants(MEETING_ID, List.of(PARTICIPANT_ID));
+        verify(meetingResponseMapper, times(1)).toResponse(meeting);
+    }
+
+    @Test
+    void addParticipants_WhenEmailUnknown_ShouldThrowResourceNotFoundException() {
+        when(meetingRepository.existsByIdAndOrganizerId(MEETING_ID, ORGANIZER_ID)).thenReturn(true);
+        when(userRepository.findAllByNaturalIdIn(Set.of(PARTICIPANT_EMAIL, "unknown@example.com"))).thenReturn(List.of(createParticipant()));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> meetingService.addParticipants(ORGANIZER_ID,
+                MEETING_ID, new MeetingParticipantsRequest(List.of(PARTICIPANT_EMAIL, "unknown@example.com"))));
+
+        assertEquals(String.format(ErrorMessages.USERS_NOT_FOUND_BY_EMAIL_MESSAGE, Set.of("unknown@example.com")), exception.getMessage());
+        verify(meetingRepository, never()).addParticipants(any(), any());
+    }
+
+    @Test
+    void removeParticipants_WhenNotOrganizer_ShouldThrowResourceNotFoundException() {
+        when(meetingRepository.existsByIdAndOrganizerId(MEETING_ID, PARTICIPANT_ID)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> meetingService.removeParticipants(PARTICIPANT_ID, MEETING_ID,
+                new MeetingParticipantsRequest(List.of(ORGANIZER_EMAIL))));
+
+        verify(meetingRepository, never()).removeParticipants(any(), any());
+    }
+
+    @Test
+    void removeParticipants_ShouldDeleteWithOneStatement() {
+        when(meetingRepository.existsByIdAndOrganizerId(MEETING_ID, ORGANIZER_ID)).thenReturn(true);
+        Meeting meeting = createSavedMeeting();
+        when(meetingRepository.findWithOrganizerAndParticipantsById(MEETING_ID)).thenReturn(Optional.of(meeting));
+        when(meetingResponseMapper.toResponse(meeting)).thenReturn(new MeetingResponse(MEETING_ID, MEETING_TITLE, MEETING_DESCRIPTION, null, List.of()));
+
+        meetingService.removeParticipants(ORGANIZER_ID, MEETING_ID, new MeetingParticipantsRequest(List.of(PARTICIPANT_EMAIL)));
+
+        verify(meetingRepository, times(1)).removeParticipants(MEETING_ID, Set.of(PARTICIPANT_EMAIL));
+        verifyNoInteractions(userRepository);
     }
 
     private User createOrganizer() {
@@ -171,6 +386,8 @@ class MeetingServiceImplTest {
 
     private MeetingCreationRequest createMeetingCreationRequest() {
         return new MeetingCreationRequest(AVAILABILITY_ID,
+                null,
+                null,
                 MEETING_TITLE,
                 MEETING_DESCRIPTION,
                 List.of(PARTICIPANT_EMAIL)
@@ -183,7 +400,27 @@ class MeetingServiceImplTest {
                 .title(MEETING_TITLE)
                 .description(MEETING_DESCRIPTION)
                 .organizer(createOrganizer())
-                .participants(List.of(createParticipant()))
+                .participants(Set.of(createParticipant()))
+                .build();
+    }
+
+    private Availability createOccurrence() {
+        return Availability.builder()
+                .ownerId(ORGANIZER_ID)
+                .ruleId(RULE_ID)
+                .startDateTime(OCCURRENCE_START)
+                .endDateTime(OCCURRENCE_END)
+                .availabilityStatus(AvailabilityStatus.FREE)
                 .build();
     }
+
+    private MeetingCreationRequest createOccurrenceMeetingCreationRequest() {
+        return new MeetingCreationRequest(null,
+                RULE_ID,
+                OCCURRENCE_START,
+                MEETING_TITLE,
+                MEETING_DESCRIPTION,
+                List.of(PARTICIPANT_EMAIL)
+        );
+    }
 }
@@ -0,0 +1,85 @@
+package com.codingchallenge.minidoodlev1.service.impl;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityResponse;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import com.codingchallenge.minidoodlev1.mapper.AvailabilityResponseMapper;
+import com.codingchallenge.minidoodlev1.repository.ReactiveAvailabilityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAvailabilityServiceImplTest {
+
+    @Mock
+    private ReactiveAvailabilityRepository reactiveAvailabilityRepository;
+
+    @Mock
+    private AvailabilityResponseMapper availabilityResponseMapper;
+
+    @InjectMocks
+    private ReactiveAvailabilityServiceImpl reactiveAvailabilityService;
+
+    private static final Long OWNER_ID = 1L;
+    private static final Instant START = Instant.parse("2030-01-01T09:00:00Z");
+    private static final Instant END = Instant.parse("2030-01-01T18:00:00Z");
+
+    @Test
+    void queryAvailabilities_ShouldMapRowsInOrder() {
+        Availability first = availability(1L, START);
+        Availability second = availability(2L, START.plusSeconds(3600));
+        when(reactiveAvailabilityRepository.findAll(OWNER_ID, START, END, AvailabilityStatus.FREE)).thenReturn(Flux.just(first, second));
+        when(availabilityResponseMapper.toResponse(any(Availability.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        List<AvailabilityResponse> responses = reactiveAvailabilityService.queryAvailabilities(OWNER_ID, START, END, AvailabilityStatus.FREE)
+                .collectList()
+                .block();
+
+        assertEquals(List.of(response(first), response(second)), responses);
+    }
+
+    @Test
+    void queryAvailabilities_ShouldOnlyPullRowsOnDemand() {
+        AtomicInteger emitted = new AtomicInteger();
+        Flux<Availability> rows = Flux.range(0, 1000)
+                .map(index -> availability((long) index, START.plusSeconds(index * 3600L)))
+                .doOnNext(availability -> emitted.incrementAndGet());
+        when(reactiveAvailabilityRepository.findAll(OWNER_ID, null, null, null)).thenReturn(rows);
+        when(availabilityResponseMapper.toResponse(any(Availability.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        List<AvailabilityResponse> responses = reactiveAvailabilityService.queryAvailabilities(OWNER_ID, null, null, null)
+                .take(3, true)
+                .collectList()
+                .block();
+
+        assertEquals(3, responses.size());
+        assertEquals(3, emitted.get());
+    }
+
+    private static Availability availability(Long id, Instant startDateTime) {
+        return Availability.builder()
+                .id(id)
+                .ownerId(OWNER_ID)
+                .startDateTime(startDateTime)
+                .endDateTime(startDateTime.plusSeconds(1800))
+                .availabilityStatus(AvailabilityStatus.FREE)
+                .build();
+    }
+
+    private static AvailabilityResponse response(Availability availability) {
+        return new AvailabilityResponse(availability.getId(), availability.getStartDateTime(), availability.getEndDateTime(),
+                availability.getAvailabilityStatus(), availability.getRuleId());
+    }
+}
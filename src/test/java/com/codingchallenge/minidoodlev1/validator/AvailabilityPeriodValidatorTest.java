@@ -0,0 +1,35 @@
+package com.codingchallenge.minidoodlev1.validator;
+
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityCreationRequest;
+import com.codingchallenge.minidoodlev1.data.dto.AvailabilityUpdateRequest;
+import com.codingchallenge.minidoodlev1.data.entity.Availability;
+import com.codingchallenge.minidoodlev1.data.enums.AvailabilityStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityPeriodValidatorTest {
+
+    private static final Instant START = Instant.parse("2030-01-07T09:00:00Z");
+
+    private final AvailabilityPeriodValidator validator = new AvailabilityPeriodValidator();
+
+    @Test
+    void isValid_ShouldAcceptPeriodsUpToMaxDuration() {
+        assertTrue(validator.isValid(new AvailabilityCreationRequest(START, START.plus(Availability.MAX_DURATION)), null));
+        assertTrue(validator.isValid(new AvailabilityUpdateRequest(START, START.plusSeconds(3600), AvailabilityStatus.FREE), null));
+    }
+
+    @Test
+    void isValid_ShouldRejectEmptyOrTooLongPeriodsOnCreateAndUpdate() {
+        Instant tooLate = START.plus(Availability.MAX_DURATION).plusSeconds(1);
+
+        assertFalse(validator.isValid(new AvailabilityCreationRequest(START, START), null));
+        assertFalse(validator.isValid(new AvailabilityCreationRequest(START, tooLate), null));
+        assertFalse(validator.isValid(new AvailabilityUpdateRequest(START, START.minusSeconds(1), AvailabilityStatus.FREE), null));
+        assertFalse(validator.isValid(new AvailabilityUpdateRequest(START, tooLate, AvailabilityStatus.BUSY), null));
+    }
+}